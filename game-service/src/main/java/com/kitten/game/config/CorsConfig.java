@@ -12,6 +12,7 @@ public class CorsConfig implements WebMvcConfigurer{
       .allowedOrigins("http://localhost:3000")
       .allowedMethods("*")
       .allowedHeaders("*")
+      .exposedHeaders("ETag", GameOwnershipInterceptor.GAME_NODE_HEADER)
       .allowCredentials(true);
   }
 }
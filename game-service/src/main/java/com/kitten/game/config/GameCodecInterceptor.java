@@ -0,0 +1,129 @@
+package com.kitten.game.config;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import com.kitten.game.model.GameState;
+import com.kitten.game.service.GameRegistry;
+import com.kitten.game.service.ParkedGameStore;
+import com.kitten.game.util.BinaryGameCodec;
+
+/**
+ * Picks the wire codec per STOMP session. JSON is the default; a client that sends
+ * {@code accept-codec: kitten-binary-1} on CONNECT over a transport that carries binary frames
+ * (not SockJS) gets every /topic/game/** message re-encoded with {@link BinaryGameCodec}.
+ * Registered on both client channels: inbound for CONNECT/DISCONNECT, outbound for MESSAGE frames.
+ * Game events are sent with {@link #withEncodingCache}: the broker copies that header into every subscriber's
+ * message, so a broadcast is encoded once per message, not once per subscriber, and no lock is shared between lobbies.
+ */
+@Component
+public class GameCodecInterceptor implements ChannelInterceptor {
+
+  private static final Logger log = LoggerFactory.getLogger(GameCodecInterceptor.class);
+
+  public static final String ACCEPT_CODEC_HEADER = "accept-codec";
+  /** Session attribute set by endpoints whose transport can carry binary WebSocket frames. */
+  public static final String BINARY_FRAMES_ATTRIBUTE = "kitten.binaryFrames";
+  // octet-stream is what makes STOMP send the frame as a binary WebSocket message
+  public static final MimeType BINARY_CONTENT_TYPE =
+      new MimeType("application", "octet-stream", Collections.singletonMap("codec", BinaryGameCodec.CODEC_NAME));
+
+  /** Message header holding the binary encoding of the message's payload, once the first subscriber needed it. */
+  public static final String ENCODED_HEADER = "kitten.encoded";
+
+  private final GameRegistry gameRegistry;
+  private final ParkedGameStore parkedGames;
+  private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+
+  public GameCodecInterceptor(GameRegistry gameRegistry, ParkedGameStore parkedGames) {
+    this.gameRegistry = gameRegistry;
+    this.parkedGames = parkedGames;
+  }
+
+  /** Adds an empty {@link #ENCODED_HEADER} to a message about to be sent to the broker. */
+  public static Message<?> withEncodingCache(Message<?> message) {
+    return MessageBuilder.fromMessage(message).setHeader(ENCODED_HEADER, new AtomicReference<byte[]>()).build();
+  }
+
+  @Override
+  public Message<?> preSend(Message<?> message, MessageChannel channel) {
+    SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+    String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    if (type == null || sessionId == null) return message;
+    switch (type) {
+      case CONNECT:
+        negotiate(message, sessionId);
+        return message;
+      case DISCONNECT:
+        binarySessions.remove(sessionId);
+        return message;
+      case MESSAGE:
+        return binarySessions.contains(sessionId) ? encode(message) : message;
+      default:
+        return message;
+    }
+  }
+
+  private void negotiate(Message<?> message, String sessionId) {
+    String accept = StompHeaderAccessor.wrap(message).getFirstNativeHeader(ACCEPT_CODEC_HEADER);
+    if (accept == null || !accept.contains(BinaryGameCodec.CODEC_NAME)) return;
+    Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+    if (attributes != null && Boolean.TRUE.equals(attributes.get(BINARY_FRAMES_ATTRIBUTE))) {
+      binarySessions.add(sessionId);
+    }
+  }
+
+  private Message<?> encode(Message<?> message) {
+    Object payload = message.getPayload();
+    String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+    if (!(payload instanceof byte[]) || destination == null || !destination.startsWith("/topic/game/")) {
+      return message;
+    }
+    AtomicReference<byte[]> cache = encodingCache(message);
+    byte[] binary = cache != null ? cache.get() : null;
+    if (binary == null) {
+      try {
+        binary = BinaryGameCodec.fromJson((byte[]) payload, seats(LobbyShardedExecutor.lobbyKey(destination)));
+      } catch (IOException e) {
+        log.warn("Sending {} as JSON, binary encoding failed: {}", destination, e.getMessage());
+        return message;
+      }
+      if (cache != null) cache.set(binary); // subscribers racing here encode the same bytes; any copy will do
+    }
+    MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+    accessor.setContentType(BINARY_CONTENT_TYPE);
+    return MessageBuilder.createMessage(binary, accessor.getMessageHeaders());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static AtomicReference<byte[]> encodingCache(Message<?> message) {
+    Object cache = message.getHeaders().get(ENCODED_HEADER);
+    return cache instanceof AtomicReference ? (AtomicReference<byte[]>) cache : null;
+  }
+
+  /** Seats of the lobby's game; a frame sent just before the game was parked still finds them, without unparking it. */
+  private List<String> seats(String lobbyId) {
+    if (lobbyId == null) return Collections.<String>emptyList();
+    GameState game = gameRegistry.get(lobbyId);
+    List<String> seats = game != null ? game.getSeats() : parkedGames.seats(lobbyId);
+    return seats != null ? seats : Collections.<String>emptyList();
+  }
+}
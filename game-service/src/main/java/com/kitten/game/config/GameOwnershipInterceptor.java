@@ -0,0 +1,60 @@
+package com.kitten.game.config;
+
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.kitten.game.controller.GameCommandController;
+
+/**
+ * Sends REST calls for a lobby this node does not own to the node that does, as a 307 redirect (method and body
+ * are kept). The lobby is the {@code lobbyId} path variable or request parameter; endpoints without one
+ * (e.g. /history/{gameId}, which any node can rebuild from the database) are served locally.
+ * Browsers send a cross-origin request that follows a redirect to another origin with {@code Origin: null}, which
+ * CorsConfig rightly refuses, so CORS requests get a 421 naming the owner in {@value #GAME_NODE_HEADER} instead;
+ * the frontend should ask GET /api/lobby/{lobbyId}/game-node first. Preflights are always answered here.
+ */
+@Component
+public class GameOwnershipInterceptor implements HandlerInterceptor {
+
+  public static final String GAME_NODE_HEADER = "X-Game-Node";
+
+  @Autowired
+  private GameNodeRing gameNodeRing;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!gameNodeRing.isEnabled() || CorsUtils.isPreFlightRequest(request)) return true;
+    String lobbyId = lobbyId(request);
+    if (lobbyId == null || gameNodeRing.owns(lobbyId)) return true;
+
+    String owner = gameNodeRing.ownerOf(lobbyId);
+    if (CorsUtils.isCorsRequest(request)) {
+      response.setStatus(GameCommandController.MISDIRECTED);
+      response.setHeader(GAME_NODE_HEADER, owner);
+      return false;
+    }
+    String location = owner + request.getRequestURI()
+        + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+    response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+    response.setHeader(HttpHeaders.LOCATION, location);
+    return false;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static String lobbyId(HttpServletRequest request) {
+    Map<String, String> pathVariables =
+        (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    if (pathVariables != null && pathVariables.containsKey("lobbyId")) return pathVariables.get("lobbyId");
+    return request.getParameter("lobbyId");
+  }
+}
@@ -0,0 +1,18 @@
+package com.kitten.game.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class GameRoutingConfig implements WebMvcConfigurer {
+
+  @Autowired
+  private GameOwnershipInterceptor gameOwnershipInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(gameOwnershipInterceptor).addPathPatterns("/api/game/**");
+  }
+}
@@ -0,0 +1,74 @@
+package com.kitten.game.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+/**
+ * Executor for the broker channel that runs each message on a fixed single-thread shard chosen by its lobby.
+ * The lobby key is the third segment of the destination (/topic/game/{lobbyId}/..., /topic/lobby/{lobbyId}),
+ * so all traffic for one lobby is routed by the broker in order on one thread and lobbies never queue behind each
+ * other on a shared pool. Order on the wire also needs {@code preservePublishOrder} on the client outbound channel
+ * (see WebSocketConfig). Other destinations (e.g. per-session reply queues) are sharded by the whole destination,
+ * and messages without one are spread round-robin.
+ * Kept identical to the copy in session-service; the two services share no module.
+ */
+public class LobbyShardedExecutor implements Executor {
+
+  private final ExecutorService[] shards;
+  private final AtomicInteger nextUnkeyed = new AtomicInteger();
+
+  public LobbyShardedExecutor(int shardCount) {
+    this.shards = new ExecutorService[Math.max(1, shardCount)];
+    for (int i = 0; i < shards.length; i++) {
+      String name = "broker-shard-" + i;
+      shards[i] = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    shards[shardOf(task)].execute(task);
+  }
+
+  public int getShardCount() {
+    return shards.length;
+  }
+
+  public void shutdown() {
+    for (ExecutorService shard : shards) {
+      shard.shutdown();
+    }
+  }
+
+  private int shardOf(Runnable task) {
+    if (task instanceof MessageHandlingRunnable) {
+      String destination = SimpMessageHeaderAccessor.getDestination(((MessageHandlingRunnable) task).getMessage().getHeaders());
+      String key = lobbyKey(destination);
+      if (key == null) key = destination;
+      if (key != null) return Math.floorMod(key.hashCode(), shards.length);
+    }
+    return Math.floorMod(nextUnkeyed.getAndIncrement(), shards.length);
+  }
+
+  /** "/topic/game/abc123/state" -> "abc123"; null if the destination has fewer than three segments. */
+  static String lobbyKey(String destination) {
+    if (destination == null) return null;
+    int start = 0;
+    for (int segment = 0; segment < 2; segment++) {
+      start = destination.indexOf('/', start + 1);
+      if (start < 0) return null;
+    }
+    int end = destination.indexOf('/', start + 1);
+    String key = end < 0 ? destination.substring(start + 1) : destination.substring(start + 1, end);
+    return key.isEmpty() ? null : key;
+  }
+}
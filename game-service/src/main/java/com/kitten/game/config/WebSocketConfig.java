@@ -1,20 +1,113 @@
 package com.kitten.game.config;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.*;
+import org.springframework.web.socket.server.HandshakeInterceptor;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+  // 0 = one shard per available processor
+  @Value("${websocket.broker.shards:0}")
+  private int brokerShards;
+
+  @Autowired
+  private WebSocketProperties properties;
+
+  @Autowired
+  private GameCodecInterceptor codecInterceptor;
+
+  private TaskScheduler messageBrokerTaskScheduler;
+
+  // Lazy: the scheduler is defined by the broker configuration this class is feeding
+  @Autowired
+  public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler taskScheduler) {
+    this.messageBrokerTaskScheduler = taskScheduler;
+  }
+
   @Override
   public void registerStompEndpoints(StompEndpointRegistry registry) {
     registry.addEndpoint("/ws-game").setAllowedOriginPatterns("*").withSockJS();
+    // No SockJS framing or fallbacks; the only endpoint that can carry the binary codec
+    registry.addEndpoint(properties.getRawEndpoint()).setAllowedOriginPatterns("*")
+        .addInterceptors(new BinaryFramesHandshakeInterceptor());
   }
 
   @Override
   public void configureMessageBroker(MessageBrokerRegistry config) {
-    config.enableSimpleBroker("/topic");
+    config.enableSimpleBroker("/topic", "/queue")
+        .setHeartbeatValue(new long[] {properties.getHeartbeatServerMs(), properties.getHeartbeatClientMs()})
+        .setTaskScheduler(messageBrokerTaskScheduler);
     config.setApplicationDestinationPrefixes("/app");
+    config.setUserDestinationPrefix("/user"); // /user/queue/game-replies, see GameCommandController
+    config.configureBrokerChannel().executor(brokerShardExecutor());
+    // The outbound channel runs on a shared pool; without this two frames for one session can be written out of
+    // order, and clients apply the versioned state deltas and event envelopes in sequence
+    config.setPreservePublishOrder(true);
+  }
+
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    registration.setSendTimeLimit(properties.getSendTimeLimitMs())
+        .setSendBufferSizeLimit(properties.getSendBufferSizeLimit())
+        .setMessageSizeLimit(properties.getMessageSizeLimit());
+  }
+
+  @Override
+  public void configureClientInboundChannel(ChannelRegistration registration) {
+    registration.interceptors(codecInterceptor);
+  }
+
+  @Override
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    registration.interceptors(codecInterceptor);
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  public LobbyShardedExecutor brokerShardExecutor() {
+    return new LobbyShardedExecutor(brokerShards > 0 ? brokerShards : Runtime.getRuntime().availableProcessors());
+  }
+
+  /** Swaps the simple broker's pattern-matching registry for {@link ExactMatchSubscriptionRegistry}. */
+  @Bean
+  public static BeanPostProcessor exactMatchSubscriptionRegistryInstaller() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof SimpleBrokerMessageHandler) {
+          ((SimpleBrokerMessageHandler) bean).setSubscriptionRegistry(new ExactMatchSubscriptionRegistry());
+        }
+        return bean;
+      }
+    };
+  }
+
+  /** Marks sessions from the raw endpoint, whose frames can be binary (see {@link GameCodecInterceptor}). */
+  private static class BinaryFramesHandshakeInterceptor implements HandshakeInterceptor {
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+      attributes.put(GameCodecInterceptor.BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+      return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {}
   }
 }
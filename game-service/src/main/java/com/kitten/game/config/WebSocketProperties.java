@@ -0,0 +1,63 @@
+package com.kitten.game.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "websocket")
+public class WebSocketProperties {
+  private String rawEndpoint = "/ws-game-raw"; // plain WebSocket, same STOMP destinations as the SockJS endpoint
+  private long heartbeatServerMs = 10000; // how often the broker sends STOMP heartbeats (0 = never)
+  private long heartbeatClientMs = 10000; // how often clients must send them (0 = not checked)
+  private int sendTimeLimitMs = 10000; // a slow client is dropped if one send takes longer
+  private int sendBufferSizeLimit = 512 * 1024; // ...or if this many bytes queue up for it
+  private int messageSizeLimit = 64 * 1024; // max inbound STOMP message
+
+  public String getRawEndpoint() {
+    return rawEndpoint;
+  }
+
+  public void setRawEndpoint(String rawEndpoint) {
+    this.rawEndpoint = rawEndpoint;
+  }
+
+  public long getHeartbeatServerMs() {
+    return heartbeatServerMs;
+  }
+
+  public void setHeartbeatServerMs(long heartbeatServerMs) {
+    this.heartbeatServerMs = heartbeatServerMs;
+  }
+
+  public long getHeartbeatClientMs() {
+    return heartbeatClientMs;
+  }
+
+  public void setHeartbeatClientMs(long heartbeatClientMs) {
+    this.heartbeatClientMs = heartbeatClientMs;
+  }
+
+  public int getSendTimeLimitMs() {
+    return sendTimeLimitMs;
+  }
+
+  public void setSendTimeLimitMs(int sendTimeLimitMs) {
+    this.sendTimeLimitMs = sendTimeLimitMs;
+  }
+
+  public int getSendBufferSizeLimit() {
+    return sendBufferSizeLimit;
+  }
+
+  public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+    this.sendBufferSizeLimit = sendBufferSizeLimit;
+  }
+
+  public int getMessageSizeLimit() {
+    return messageSizeLimit;
+  }
+
+  public void setMessageSizeLimit(int messageSizeLimit) {
+    this.messageSizeLimit = messageSizeLimit;
+  }
+}
@@ -0,0 +1,193 @@
+package com.kitten.game.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import com.kitten.game.config.GameNodeRing;
+import com.kitten.game.dto.GameCommandMessage;
+import com.kitten.game.dto.GameCommandReply;
+import com.kitten.game.model.CardType;
+import com.kitten.game.service.CommandResult;
+import com.kitten.game.service.GameCommandService;
+
+/**
+ * The game commands of {@link GameController}, accepted as STOMP messages on /app/game/{lobbyId}/...
+ * so a move is one frame on the already open connection. Each reply goes only to the sending session,
+ * carrying the command's {@code correlation-id} header. With a {@link GameNodeRing}, a command for a lobby that
+ * another node owns is answered with status 421 and that node's base URL.
+ */
+@Controller
+@MessageMapping("/game/{lobbyId}")
+public class GameCommandController {
+
+  public static final String CORRELATION_ID_HEADER = "correlation-id";
+  public static final String REPLY_DESTINATION = "/queue/game-replies";
+  /** Reply status for a lobby owned by another node; the reply's data is that node's base URL. */
+  public static final int MISDIRECTED = 421;
+  private static final int INTERNAL_ERROR = 500;
+
+  private static final Logger log = LoggerFactory.getLogger(GameCommandController.class);
+
+  @Autowired
+  private GameCommandService gameCommandService;
+
+  @Autowired
+  private GameNodeRing gameNodeRing;
+
+  @MessageMapping("/skip")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> skipTurn(@DestinationVariable String lobbyId,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId, gameCommandService.skipTurn(lobbyId));
+  }
+
+  @MessageMapping("/play")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> playCard(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId, gameCommandService.playCard(lobbyId, require(command.getPlayerId(), "playerId"), require(command.getCard(), "card")));
+  }
+
+  @MessageMapping("/targeted/confirm")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> confirmTargetedAttack(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId,
+        gameCommandService.confirmTargetedAttack(lobbyId, require(command.getFromPlayerId(), "fromPlayerId"),
+            require(command.getToPlayerId(), "toPlayerId")));
+  }
+
+  @MessageMapping("/favor/request")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> favorRequest(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId, gameCommandService.favorRequest(lobbyId,
+        require(command.getFromPlayerId(), "fromPlayerId"), require(command.getToPlayerId(), "toPlayerId")));
+  }
+
+  @MessageMapping("/favor/response")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> favorResponse(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId,
+        gameCommandService.favorResponse(lobbyId, require(command.getFromPlayerId(), "fromPlayerId"),
+            require(command.getToPlayerId(), "toPlayerId"), require(command.getCard(), "card")));
+  }
+
+  @MessageMapping("/cat/combo")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> catCombo(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId, gameCommandService.catCombo(lobbyId, require(command.getPlayerId(), "playerId"), requireCards(command.getCards())));
+  }
+
+  @MessageMapping("/cat/opponents")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> validStealTargets(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return gameCommandService.validStealTargets(lobbyId, require(command.getPlayerId(), "playerId")).thenApply((List<String> targets) ->
+        targets == null
+            ? notFound(lobbyId, correlationId)
+            : new GameCommandReply(correlationId, CommandResult.OK.getStatus(), targets));
+  }
+
+  @MessageMapping("/cat/steal")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> catSteal(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId, gameCommandService.catSteal(lobbyId,
+        require(command.getFromPlayerId(), "fromPlayerId"), require(command.getToPlayerId(), "toPlayerId")));
+  }
+
+  @MessageMapping("/cat/steal/resolve")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> resolveSteal(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId, gameCommandService.resolveSteal(lobbyId,
+        require(command.getStealerId(), "stealerId"), require(command.getSelectedIndex(), "selectedIndex")));
+  }
+
+  @MessageMapping("/draw")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> drawCard(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId, gameCommandService.drawCard(lobbyId, require(command.getPlayerId(), "playerId")));
+  }
+
+  @MessageMapping("/alter")
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public CompletableFuture<GameCommandReply> reorderFuture(@DestinationVariable String lobbyId, @Payload GameCommandMessage command,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    return reply(lobbyId, correlationId, gameCommandService.reorderFuture(lobbyId, require(command.getPlayerId(), "playerId"), requireCards(command.getCards())));
+  }
+
+  /**
+   * Unreadable payloads (unknown card names, malformed JSON) and missing required fields are reported like an
+   * HTTP 400. Anything else, e.g. a command that failed in the game's mailbox, is a server fault: 500 without the
+   * internal message.
+   */
+  @MessageExceptionHandler
+  @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+  public GameCommandReply handleException(Throwable e,
+      @Header(name = CORRELATION_ID_HEADER, required = false) String correlationId) {
+    boolean fromMailbox = e instanceof CompletionException && e.getCause() != null;
+    Throwable cause = fromMailbox ? e.getCause() : e;
+    if (cause instanceof MessageConversionException || cause instanceof InvalidCommandException) {
+      return new GameCommandReply(correlationId, CommandResult.BAD_REQUEST.getStatus(), cause.getMessage());
+    }
+    if (fromMailbox) {
+      // GameCommandExecutor already logged it with its stack trace
+      log.error("Game command failed: correlationId={}, error={}", correlationId, cause.toString());
+    } else {
+      log.error("Game command failed: correlationId={}", correlationId, cause);
+    }
+    return new GameCommandReply(correlationId, INTERNAL_ERROR, "Internal error");
+  }
+
+  private static <T> T require(T value, String field) {
+    if (value == null) throw new InvalidCommandException("Missing field: " + field);
+    return value;
+  }
+
+  private static List<CardType> requireCards(List<CardType> cards) {
+    for (CardType card : require(cards, "cards")) {
+      if (card == null) throw new InvalidCommandException("Missing card in: cards");
+    }
+    return cards;
+  }
+
+  private CompletableFuture<GameCommandReply> reply(String lobbyId, String correlationId, CompletableFuture<CommandResult> result) {
+    return result.thenApply(r -> r == CommandResult.NOT_FOUND
+        ? notFound(lobbyId, correlationId)
+        : new GameCommandReply(correlationId, r.getStatus(), null));
+  }
+
+  /** A lobby owned by another node has no game here; tell the client which node to connect to instead. */
+  private GameCommandReply notFound(String lobbyId, String correlationId) {
+    if (!gameNodeRing.owns(lobbyId)) {
+      return new GameCommandReply(correlationId, MISDIRECTED, gameNodeRing.ownerOf(lobbyId));
+    }
+    return new GameCommandReply(correlationId, CommandResult.NOT_FOUND.getStatus(), null);
+  }
+
+  /** A required field of the command's payload is missing; answered with 400. */
+  private static final class InvalidCommandException extends RuntimeException {
+    private InvalidCommandException(String message) {
+      super(message);
+    }
+  }
+}
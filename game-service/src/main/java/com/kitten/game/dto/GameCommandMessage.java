@@ -0,0 +1,78 @@
+package com.kitten.game.dto;
+
+import java.util.List;
+
+import com.kitten.game.model.CardType;
+
+/**
+ * Body of a STOMP game command sent to /app/game/{lobbyId}/...; each command reads only the fields it needs,
+ * named exactly like the matching HTTP request parameters (e.g. cat/steal/resolve takes {@code stealerId} and
+ * {@code selectedIndex}).
+ */
+public class GameCommandMessage {
+  private String playerId;
+  private String stealerId; // cat/steal/resolve
+  private String fromPlayerId;
+  private String toPlayerId;
+  private CardType card;
+  private List<CardType> cards; // cat combo selection, or the reordered top cards for alter
+  private Integer selectedIndex;
+
+  public GameCommandMessage() {}
+
+  public String getPlayerId() {
+    return playerId;
+  }
+
+  public void setPlayerId(String playerId) {
+    this.playerId = playerId;
+  }
+
+  public String getStealerId() {
+    return stealerId;
+  }
+
+  public void setStealerId(String stealerId) {
+    this.stealerId = stealerId;
+  }
+
+  public String getFromPlayerId() {
+    return fromPlayerId;
+  }
+
+  public void setFromPlayerId(String fromPlayerId) {
+    this.fromPlayerId = fromPlayerId;
+  }
+
+  public String getToPlayerId() {
+    return toPlayerId;
+  }
+
+  public void setToPlayerId(String toPlayerId) {
+    this.toPlayerId = toPlayerId;
+  }
+
+  public CardType getCard() {
+    return card;
+  }
+
+  public void setCard(CardType card) {
+    this.card = card;
+  }
+
+  public List<CardType> getCards() {
+    return cards;
+  }
+
+  public void setCards(List<CardType> cards) {
+    this.cards = cards;
+  }
+
+  public Integer getSelectedIndex() {
+    return selectedIndex;
+  }
+
+  public void setSelectedIndex(Integer selectedIndex) {
+    this.selectedIndex = selectedIndex;
+  }
+}
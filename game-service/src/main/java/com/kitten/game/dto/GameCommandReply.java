@@ -0,0 +1,43 @@
+package com.kitten.game.dto;
+
+/**
+ * Answer to one STOMP game command, sent only to the session that issued it on /user/queue/game-replies.
+ * {@code status} uses the HTTP codes the REST endpoints would have returned.
+ */
+public class GameCommandReply {
+  private String correlationId; // echoed from the command's correlation-id header
+  private int status;
+  private Object data;
+
+  public GameCommandReply() {}
+
+  public GameCommandReply(String correlationId, int status, Object data) {
+    this.correlationId = correlationId;
+    this.status = status;
+    this.data = data;
+  }
+
+  public String getCorrelationId() {
+    return correlationId;
+  }
+
+  public void setCorrelationId(String correlationId) {
+    this.correlationId = correlationId;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public void setStatus(int status) {
+    this.status = status;
+  }
+
+  public Object getData() {
+    return data;
+  }
+
+  public void setData(Object data) {
+    this.data = data;
+  }
+}
@@ -0,0 +1,74 @@
+package com.kitten.game.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every event one command produced for one destination, in the order they were published.
+ * Public events go to /topic/game/{lobbyId}/events, a player's private ones to /topic/game/{lobbyId}/events/{playerId}.
+ * Each event's {@code topic} is the legacy destination suffix ("action", "turn", "state", "future", ...).
+ */
+public class GameEventEnvelope {
+  private String lobbyId;
+  private long version;
+  private List<Event> events = new ArrayList<>();
+
+  public GameEventEnvelope() {}
+
+  public GameEventEnvelope(String lobbyId, long version) {
+    this.lobbyId = lobbyId;
+    this.version = version;
+  }
+
+  public static class Event {
+    private String topic;
+    private Object payload;
+
+    public Event() {}
+
+    public Event(String topic, Object payload) {
+      this.topic = topic;
+      this.payload = payload;
+    }
+
+    public String getTopic() {
+      return topic;
+    }
+
+    public void setTopic(String topic) {
+      this.topic = topic;
+    }
+
+    public Object getPayload() {
+      return payload;
+    }
+
+    public void setPayload(Object payload) {
+      this.payload = payload;
+    }
+  }
+
+  public String getLobbyId() {
+    return lobbyId;
+  }
+
+  public void setLobbyId(String lobbyId) {
+    this.lobbyId = lobbyId;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public List<Event> getEvents() {
+    return events;
+  }
+
+  public void setEvents(List<Event> events) {
+    this.events = events;
+  }
+}
@@ -0,0 +1,115 @@
+package com.kitten.game.dto;
+
+/**
+ * Game counts of this node, from GET /api/game/lifecycle/stats. The evicted, rejected and unparked counts are totals
+ * since the node started. Unparks are never refused, so activeGames can exceed maxActiveGames by up to unparkedOverCap.
+ */
+public class GameLifecycleStats {
+  private int activeGames;
+  private int maxActiveGames; // 0 = no cap
+  private long evictedFinished;
+  private long evictedIdle;
+  private long rejectedStarts;
+  private int parkedGames;
+  private long parkedBytes; // size of the parked games' compressed state
+  private long parkedTotal; // times a game was parked
+  private long unparkedTotal; // times a parked game was brought back
+  private long unparkedOverCap; // of those, how many came back while the node was at the cap
+
+  public GameLifecycleStats() {}
+
+  public GameLifecycleStats(int activeGames, int maxActiveGames, long evictedFinished, long evictedIdle,
+                            long rejectedStarts, int parkedGames, long parkedBytes, long parkedTotal,
+                            long unparkedTotal, long unparkedOverCap) {
+    this.activeGames = activeGames;
+    this.maxActiveGames = maxActiveGames;
+    this.evictedFinished = evictedFinished;
+    this.evictedIdle = evictedIdle;
+    this.rejectedStarts = rejectedStarts;
+    this.parkedGames = parkedGames;
+    this.parkedBytes = parkedBytes;
+    this.parkedTotal = parkedTotal;
+    this.unparkedTotal = unparkedTotal;
+    this.unparkedOverCap = unparkedOverCap;
+  }
+
+  public int getActiveGames() {
+    return activeGames;
+  }
+
+  public void setActiveGames(int activeGames) {
+    this.activeGames = activeGames;
+  }
+
+  public int getMaxActiveGames() {
+    return maxActiveGames;
+  }
+
+  public void setMaxActiveGames(int maxActiveGames) {
+    this.maxActiveGames = maxActiveGames;
+  }
+
+  public long getEvictedFinished() {
+    return evictedFinished;
+  }
+
+  public void setEvictedFinished(long evictedFinished) {
+    this.evictedFinished = evictedFinished;
+  }
+
+  public long getEvictedIdle() {
+    return evictedIdle;
+  }
+
+  public void setEvictedIdle(long evictedIdle) {
+    this.evictedIdle = evictedIdle;
+  }
+
+  public long getRejectedStarts() {
+    return rejectedStarts;
+  }
+
+  public void setRejectedStarts(long rejectedStarts) {
+    this.rejectedStarts = rejectedStarts;
+  }
+
+  public int getParkedGames() {
+    return parkedGames;
+  }
+
+  public void setParkedGames(int parkedGames) {
+    this.parkedGames = parkedGames;
+  }
+
+  public long getParkedBytes() {
+    return parkedBytes;
+  }
+
+  public void setParkedBytes(long parkedBytes) {
+    this.parkedBytes = parkedBytes;
+  }
+
+  public long getParkedTotal() {
+    return parkedTotal;
+  }
+
+  public void setParkedTotal(long parkedTotal) {
+    this.parkedTotal = parkedTotal;
+  }
+
+  public long getUnparkedTotal() {
+    return unparkedTotal;
+  }
+
+  public void setUnparkedTotal(long unparkedTotal) {
+    this.unparkedTotal = unparkedTotal;
+  }
+
+  public long getUnparkedOverCap() {
+    return unparkedOverCap;
+  }
+
+  public void setUnparkedOverCap(long unparkedOverCap) {
+    this.unparkedOverCap = unparkedOverCap;
+  }
+}
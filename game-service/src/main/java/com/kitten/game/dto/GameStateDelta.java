@@ -0,0 +1,89 @@
+package com.kitten.game.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.kitten.game.model.CardType;
+
+/**
+ * What one command changed, pushed on /topic/game/{lobbyId}/state.
+ * A client that last saw {@code version - 1} can apply it directly; on any other gap it refetches the full state.
+ */
+public class GameStateDelta {
+  private String lobbyId;
+  private long version;
+  private Map<String, Object> changed; // public fields that changed, with their new value (null = cleared)
+  private Map<String, Integer> handSizes; // only players whose hand size changed
+  private int deckSize;
+  private List<CardType> usedCardsAdded; // cards added to the discard pile by this command
+  private List<String> eliminated; // players eliminated by this command
+
+  public GameStateDelta() {}
+
+  public GameStateDelta(String lobbyId, long version, Map<String, Object> changed, Map<String, Integer> handSizes,
+                        int deckSize, List<CardType> usedCardsAdded, List<String> eliminated) {
+    this.lobbyId = lobbyId;
+    this.version = version;
+    this.changed = changed;
+    this.handSizes = handSizes;
+    this.deckSize = deckSize;
+    this.usedCardsAdded = usedCardsAdded;
+    this.eliminated = eliminated;
+  }
+
+  public String getLobbyId() {
+    return lobbyId;
+  }
+
+  public void setLobbyId(String lobbyId) {
+    this.lobbyId = lobbyId;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public Map<String, Object> getChanged() {
+    return changed;
+  }
+
+  public void setChanged(Map<String, Object> changed) {
+    this.changed = changed;
+  }
+
+  public Map<String, Integer> getHandSizes() {
+    return handSizes;
+  }
+
+  public void setHandSizes(Map<String, Integer> handSizes) {
+    this.handSizes = handSizes;
+  }
+
+  public int getDeckSize() {
+    return deckSize;
+  }
+
+  public void setDeckSize(int deckSize) {
+    this.deckSize = deckSize;
+  }
+
+  public List<CardType> getUsedCardsAdded() {
+    return usedCardsAdded;
+  }
+
+  public void setUsedCardsAdded(List<CardType> usedCardsAdded) {
+    this.usedCardsAdded = usedCardsAdded;
+  }
+
+  public List<String> getEliminated() {
+    return eliminated;
+  }
+
+  public void setEliminated(List<String> eliminated) {
+    this.eliminated = eliminated;
+  }
+}
@@ -0,0 +1,131 @@
+package com.kitten.game.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kitten.game.model.CardType;
+import com.kitten.game.model.GameState;
+import com.kitten.game.model.PlayerState;
+
+/**
+ * One seat's view of a game: the viewer's own hand, every opponent's hand size, the deck size and the
+ * public fields. Deck order, opponents' cards and the pending steal pick list are left out.
+ */
+public class PlayerGameView {
+  private String gameId;
+  private String lobbyId;
+  private long version;
+  private String playerId;
+  private int seatIndex; // viewer's index in players, -1 if eliminated or not in the game
+  private List<CardType> hand;
+  private List<Seat> players;
+  private List<String> seats;
+  private List<String> eliminatedPlayers;
+  private int deckSize;
+  private List<CardType> usedCards;
+  private int currentPlayerIndex;
+  private String currentPlayerId;
+  private int cardsToDraw;
+  private boolean gameStarted;
+  private String favorFromPlayerId;
+  private String targetedAttackTargetId;
+  private String pendingStealFromPlayerId;
+  private String catComboType;
+  private String winnerPlayerId;
+
+  public PlayerGameView() {}
+
+  public static PlayerGameView of(GameState game, String viewerId) {
+    PlayerGameView view = new PlayerGameView();
+    view.gameId = game.getGameId();
+    view.lobbyId = game.getLobbyId();
+    view.version = game.getVersion();
+    view.playerId = viewerId;
+    view.seatIndex = game.indexOfPlayer(viewerId);
+
+    List<PlayerState> players = game.getPlayers();
+    view.players = new ArrayList<>(players.size());
+    for (PlayerState player : players) {
+      view.players.add(new Seat(player.getPlayerId(), player.getPlayerName(), player.getHand().size()));
+    }
+    view.seats = game.getSeats();
+    view.hand = view.seatIndex >= 0 ? players.get(view.seatIndex).getHand().toList() : List.of();
+
+    view.eliminatedPlayers = new ArrayList<>(game.getEliminatedPlayers());
+    view.deckSize = game.getDeck().size();
+    view.usedCards = new ArrayList<>(game.getUsedCards());
+    view.currentPlayerIndex = game.getCurrentPlayerIndex();
+    int idx = game.getCurrentPlayerIndex();
+    view.currentPlayerId = idx >= 0 && idx < players.size() ? players.get(idx).getPlayerId() : null;
+    view.cardsToDraw = game.getCardsToDraw();
+    view.gameStarted = game.isGameStarted();
+    view.favorFromPlayerId = game.getFavorFromPlayerId();
+    view.targetedAttackTargetId = game.getTargetedAttackTargetId();
+    view.pendingStealFromPlayerId = game.getPendingStealFromPlayerId();
+    view.catComboType = game.getCatComboType();
+    view.winnerPlayerId = players.size() == 1 ? players.get(0).getPlayerId() : null;
+    return view;
+  }
+
+  public static class Seat {
+    private String playerId;
+    private String playerName;
+    private int handSize;
+
+    public Seat() {}
+
+    public Seat(String playerId, String playerName, int handSize) {
+      this.playerId = playerId;
+      this.playerName = playerName;
+      this.handSize = handSize;
+    }
+
+    public String getPlayerId() { return playerId; }
+    public void setPlayerId(String playerId) { this.playerId = playerId; }
+    public String getPlayerName() { return playerName; }
+    public void setPlayerName(String playerName) { this.playerName = playerName; }
+    public int getHandSize() { return handSize; }
+    public void setHandSize(int handSize) { this.handSize = handSize; }
+  }
+
+  public String getGameId() { return gameId; }
+  public void setGameId(String gameId) { this.gameId = gameId; }
+  public String getLobbyId() { return lobbyId; }
+  public void setLobbyId(String lobbyId) { this.lobbyId = lobbyId; }
+  public long getVersion() { return version; }
+  public void setVersion(long version) { this.version = version; }
+  public String getPlayerId() { return playerId; }
+  public void setPlayerId(String playerId) { this.playerId = playerId; }
+  public int getSeatIndex() { return seatIndex; }
+  public void setSeatIndex(int seatIndex) { this.seatIndex = seatIndex; }
+  public List<CardType> getHand() { return hand; }
+  public void setHand(List<CardType> hand) { this.hand = hand; }
+  public List<Seat> getPlayers() { return players; }
+  public void setPlayers(List<Seat> players) { this.players = players; }
+  public List<String> getSeats() { return seats; }
+  public void setSeats(List<String> seats) { this.seats = seats; }
+  public List<String> getEliminatedPlayers() { return eliminatedPlayers; }
+  public void setEliminatedPlayers(List<String> eliminatedPlayers) { this.eliminatedPlayers = eliminatedPlayers; }
+  public int getDeckSize() { return deckSize; }
+  public void setDeckSize(int deckSize) { this.deckSize = deckSize; }
+  public List<CardType> getUsedCards() { return usedCards; }
+  public void setUsedCards(List<CardType> usedCards) { this.usedCards = usedCards; }
+  public int getCurrentPlayerIndex() { return currentPlayerIndex; }
+  public void setCurrentPlayerIndex(int currentPlayerIndex) { this.currentPlayerIndex = currentPlayerIndex; }
+  public String getCurrentPlayerId() { return currentPlayerId; }
+  public void setCurrentPlayerId(String currentPlayerId) { this.currentPlayerId = currentPlayerId; }
+  public int getCardsToDraw() { return cardsToDraw; }
+  public void setCardsToDraw(int cardsToDraw) { this.cardsToDraw = cardsToDraw; }
+  public boolean isGameStarted() { return gameStarted; }
+  public void setGameStarted(boolean gameStarted) { this.gameStarted = gameStarted; }
+  public String getFavorFromPlayerId() { return favorFromPlayerId; }
+  public void setFavorFromPlayerId(String favorFromPlayerId) { this.favorFromPlayerId = favorFromPlayerId; }
+  public String getTargetedAttackTargetId() { return targetedAttackTargetId; }
+  public void setTargetedAttackTargetId(String targetedAttackTargetId) { this.targetedAttackTargetId = targetedAttackTargetId; }
+  public String getPendingStealFromPlayerId() { return pendingStealFromPlayerId; }
+  public void setPendingStealFromPlayerId(String pendingStealFromPlayerId) { this.pendingStealFromPlayerId = pendingStealFromPlayerId; }
+  public String getCatComboType() { return catComboType; }
+  public void setCatComboType(String catComboType) { this.catComboType = catComboType; }
+  public String getWinnerPlayerId() { return winnerPlayerId; }
+  public void setWinnerPlayerId(String winnerPlayerId) { this.winnerPlayerId = winnerPlayerId; }
+}
@@ -5,14 +5,19 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 import java.time.Instant;
 import java.util.UUID;
 
+import org.springframework.data.domain.Persistable;
+
 @Entity
 @Table(name = "games")
-public class Game {
+public class Game implements Persistable<UUID> {
 
   @Id
   @Column(columnDefinition = "uuid")
@@ -40,6 +45,10 @@ public class Game {
   @Column(name = "rule_version")
   private String ruleVersion;
 
+  // Ids are assigned up front, so tell Spring Data a fresh entity is new; save() then persists without a SELECT
+  @Transient
+  private boolean isNew;
+
   public enum GameStatus {
     ACTIVE,
     FINISHED
@@ -52,8 +61,21 @@ public class Game {
     this.lobbyId = lobbyId;
     this.status = GameStatus.ACTIVE;
     this.startedAt = Instant.now();
+    this.isNew = true;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
   }
 
+  @Override
   public UUID getId() {
     return id;
   }
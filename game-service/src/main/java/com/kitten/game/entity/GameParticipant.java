@@ -7,16 +7,21 @@ import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.UniqueConstraint;
 
 import java.time.Instant;
 import java.util.UUID;
 
+import org.springframework.data.domain.Persistable;
+
 @Entity
 @Table(name = "game_participants", uniqueConstraints = @UniqueConstraint(columnNames = {"game_id", "seat_index"}))
 @IdClass(GameParticipantId.class)
-public class GameParticipant {
+public class GameParticipant implements Persistable<GameParticipantId> {
 
   @Id
   @Column(name = "game_id", columnDefinition = "uuid")
@@ -39,6 +44,10 @@ public class GameParticipant {
   @JoinColumn(name = "game_id", insertable = false, updatable = false)
   private Game game;
 
+  // Ids are assigned up front, so tell Spring Data a fresh entity is new; saveAll() then batches plain inserts
+  @Transient
+  private boolean isNew;
+
   public GameParticipant() {}
 
   public GameParticipant(UUID gameId, String playerId, int seatIndex) {
@@ -46,6 +55,23 @@ public class GameParticipant {
     this.playerId = playerId;
     this.seatIndex = seatIndex;
     this.createdAt = Instant.now();
+    this.isNew = true;
+  }
+
+  @Override
+  public GameParticipantId getId() {
+    return new GameParticipantId(gameId, playerId);
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
   }
 
   public UUID getGameId() {
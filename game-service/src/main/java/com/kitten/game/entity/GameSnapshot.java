@@ -0,0 +1,93 @@
+package com.kitten.game.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Latest binary snapshot of a live game (see GameStateCodec); one row per game, overwritten in place. */
+@Entity
+@Table(name = "game_snapshots")
+public class GameSnapshot {
+
+  @Id
+  @Column(name = "game_id", columnDefinition = "uuid")
+  private UUID gameId;
+
+  @Column(name = "lobby_id", nullable = false)
+  private String lobbyId;
+
+  @Column(name = "version", nullable = false)
+  private long version;
+
+  @Column(name = "last_seq", nullable = false)
+  private int lastSeq; // seq of the last game_actions row already reflected in data
+
+  @Column(name = "data", nullable = false)
+  private byte[] data;
+
+  @Column(name = "taken_at", nullable = false)
+  private Instant takenAt;
+
+  public GameSnapshot() {}
+
+  public GameSnapshot(UUID gameId, String lobbyId, long version, int lastSeq, byte[] data) {
+    this.gameId = gameId;
+    this.lobbyId = lobbyId;
+    this.version = version;
+    this.lastSeq = lastSeq;
+    this.data = data;
+    this.takenAt = Instant.now();
+  }
+
+  public UUID getGameId() {
+    return gameId;
+  }
+
+  public void setGameId(UUID gameId) {
+    this.gameId = gameId;
+  }
+
+  public String getLobbyId() {
+    return lobbyId;
+  }
+
+  public void setLobbyId(String lobbyId) {
+    this.lobbyId = lobbyId;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public int getLastSeq() {
+    return lastSeq;
+  }
+
+  public void setLastSeq(int lastSeq) {
+    this.lastSeq = lastSeq;
+  }
+
+  public byte[] getData() {
+    return data;
+  }
+
+  public void setData(byte[] data) {
+    this.data = data;
+  }
+
+  public Instant getTakenAt() {
+    return takenAt;
+  }
+
+  public void setTakenAt(Instant takenAt) {
+    this.takenAt = takenAt;
+  }
+}
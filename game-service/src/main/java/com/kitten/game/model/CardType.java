@@ -1,21 +1,53 @@
 package com.kitten.game.model;
 
 public enum CardType {
-  DEFUSE,
-  ATTACK,
-  TARGETED_ATTACK,
-  SKIP,
-  SEE_THE_FUTURE,
-  ALTER_THE_FUTURE,
-  SHUFFLE,
-  DRAW_FROM_BOTTOM,
-  FAVOR,
-  NOPE,
-  CAT_TACO,
-  CAT_WATERMELON,
-  CAT_POTATO,
-  CAT_BEARD,
-  CAT_RAINBOW,
-  CAT_FERAL,
-  EXPLODING_KITTEN
+  DEFUSE(Category.SYSTEM),
+  ATTACK(Category.ACTION),
+  TARGETED_ATTACK(Category.ACTION),
+  SKIP(Category.ACTION),
+  SEE_THE_FUTURE(Category.ACTION),
+  ALTER_THE_FUTURE(Category.ACTION),
+  SHUFFLE(Category.ACTION),
+  DRAW_FROM_BOTTOM(Category.ACTION),
+  FAVOR(Category.ACTION),
+  NOPE(Category.ACTION),
+  CAT_TACO(Category.CAT),
+  CAT_WATERMELON(Category.CAT),
+  CAT_POTATO(Category.CAT),
+  CAT_BEARD(Category.CAT),
+  CAT_RAINBOW(Category.CAT),
+  CAT_FERAL(Category.CAT | Category.FERAL),
+  EXPLODING_KITTEN(Category.SYSTEM);
+
+  /** Category bits, precomputed per card so rule checks are a mask test rather than name parsing. */
+  public static final class Category {
+    public static final int ACTION = 1;
+    public static final int CAT = 1 << 1;
+    public static final int FERAL = 1 << 2; // wildcard cat, matches any other cat in a combo
+    public static final int SYSTEM = 1 << 3; // only handled by the game itself (draw/steal), never played
+
+    private Category() {}
+  }
+
+  private final int categories;
+
+  CardType(int categories) {
+    this.categories = categories;
+  }
+
+  public int getCategories() {
+    return categories;
+  }
+
+  public boolean is(int category) {
+    return (categories & category) != 0;
+  }
+
+  public boolean isCat() {
+    return (categories & Category.CAT) != 0;
+  }
+
+  public boolean isFeral() {
+    return (categories & Category.FERAL) != 0;
+  }
 }
@@ -0,0 +1,213 @@
+package com.kitten.game.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.random.RandomGenerator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Draw pile stored as a ring buffer of {@link CardType} ordinals.
+ * Index 0 is the top of the deck. Drawing from either end is O(1); peeking at the top cards with {@link #get} or
+ * {@link #copyTop} and reordering them with {@link #set} does not allocate ({@link #top} returns a new list).
+ * Serializes to the same JSON array of card names as a List&lt;CardType&gt;.
+ */
+public class Deck {
+
+  private static final CardType[] CARDS = CardType.values();
+  private static final int MIN_CAPACITY = 64; // a full deck fits without growing
+
+  private byte[] cards;
+  private int head; // physical slot of the top card
+  private int size;
+  private int modCount; // bumped on every change, so callers can detect reorders cheaply
+
+  public Deck() {
+    this(MIN_CAPACITY);
+  }
+
+  public Deck(int capacity) {
+    int cap = MIN_CAPACITY;
+    while (cap < capacity) {
+      cap <<= 1;
+    }
+    this.cards = new byte[cap];
+  }
+
+  @JsonCreator
+  public static Deck of(List<CardType> topToBottom) {
+    Deck deck = new Deck(topToBottom.size());
+    for (CardType card : topToBottom) {
+      deck.addBottom(card);
+    }
+    return deck;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Card at the given position from the top (0 = top). */
+  public CardType get(int index) {
+    checkIndex(index);
+    return CARDS[cards[slot(index)]];
+  }
+
+  /** Replaces the card at the given position from the top (used to reorder the top cards). */
+  public void set(int index, CardType card) {
+    checkIndex(index);
+    cards[slot(index)] = (byte) card.ordinal();
+    modCount++;
+  }
+
+  public CardType drawTop() {
+    if (size == 0) throw new NoSuchElementException("Deck is empty");
+    byte card = cards[head];
+    head = (head + 1) & mask();
+    size--;
+    modCount++;
+    return CARDS[card];
+  }
+
+  public CardType drawBottom() {
+    if (size == 0) throw new NoSuchElementException("Deck is empty");
+    size--;
+    modCount++;
+    return CARDS[cards[slot(size)]];
+  }
+
+  public void addBottom(CardType card) {
+    ensureCapacity(size + 1);
+    cards[slot(size)] = (byte) card.ordinal();
+    size++;
+    modCount++;
+  }
+
+  public void addBottom(CardType card, int copies) {
+    for (int i = 0; i < copies; i++) {
+      addBottom(card);
+    }
+  }
+
+  /**
+   * Inserts a card at the given position from the top (0 = top, size() = bottom).
+   * Shifts whichever side of the ring is shorter.
+   */
+  public void insert(int index, CardType card) {
+    if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for deck of " + size);
+    ensureCapacity(size + 1);
+    int m = mask();
+    if (index < size - index) {
+      head = (head - 1) & m;
+      for (int i = 0; i < index; i++) {
+        cards[(head + i) & m] = cards[(head + i + 1) & m];
+      }
+    } else {
+      for (int i = size; i > index; i--) {
+        cards[(head + i) & m] = cards[(head + i - 1) & m];
+      }
+    }
+    cards[(head + index) & m] = (byte) card.ordinal();
+    size++;
+    modCount++;
+  }
+
+  /**
+   * Copies the top cards, top first, into {@code into} without allocating: as many as fit, or the whole deck if
+   * it is smaller. @return the number of cards copied
+   */
+  public int copyTop(CardType[] into) {
+    int n = Math.min(into.length, size);
+    for (int i = 0; i < n; i++) {
+      into[i] = CARDS[cards[slot(i)]];
+    }
+    return n;
+  }
+
+  /** Copies the top {@code count} cards (fewer if the deck is smaller), top first, into a new list. */
+  public List<CardType> top(int count) {
+    int n = Math.min(count, size);
+    List<CardType> result = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      result.add(CARDS[cards[slot(i)]]);
+    }
+    return result;
+  }
+
+  /** Fisher-Yates shuffle in place. */
+  public void shuffle(RandomGenerator random) {
+    int m = mask();
+    for (int i = size - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int a = (head + i) & m;
+      int b = (head + j) & m;
+      byte tmp = cards[a];
+      cards[a] = cards[b];
+      cards[b] = tmp;
+    }
+    modCount++;
+  }
+
+  public int getModCount() {
+    return modCount;
+  }
+
+  @JsonValue
+  public List<CardType> toList() {
+    return top(size);
+  }
+
+  private int mask() {
+    return cards.length - 1;
+  }
+
+  private int slot(int index) {
+    return (head + index) & mask();
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for deck of " + size);
+  }
+
+  private void ensureCapacity(int needed) {
+    if (needed <= cards.length) return;
+    byte[] grown = new byte[cards.length << 1];
+    for (int i = 0; i < size; i++) {
+      grown[i] = cards[slot(i)];
+    }
+    cards = grown;
+    head = 0;
+  }
+
+  @Override
+  public String toString() {
+    return toList().toString();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof Deck)) return false;
+    Deck other = (Deck) o;
+    if (size != other.size) return false;
+    for (int i = 0; i < size; i++) {
+      if (cards[slot(i)] != other.cards[other.slot(i)]) return false;
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = 1;
+    for (int i = 0; i < size; i++) {
+      h = 31 * h + cards[slot(i)];
+    }
+    return h;
+  }
+}
@@ -0,0 +1,54 @@
+package com.kitten.game.model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The single source of randomness for one game: a {@link SplittableRandom} seeded from Game.seed.
+ * Every derived value (bounded ints, shuffles) is built from {@link #nextLong()}, which counts its calls,
+ * so the generator can be restored to any point from (seed, draws) when a game is replayed or recovered.
+ * Not thread-safe; only used from the game's command mailbox.
+ */
+public class GameRandom implements RandomGenerator {
+
+  private final long seed;
+  private final SplittableRandom random;
+  private long draws;
+
+  public GameRandom(long seed) {
+    this.seed = seed;
+    this.random = new SplittableRandom(seed);
+  }
+
+  /** Recreates the generator as it was after {@code draws} calls to {@link #nextLong()}. */
+  public static GameRandom restore(long seed, long draws) {
+    GameRandom restored = new GameRandom(seed);
+    for (long i = 0; i < draws; i++) {
+      restored.nextLong();
+    }
+    return restored;
+  }
+
+  @Override
+  public long nextLong() {
+    draws++;
+    return random.nextLong();
+  }
+
+  /** Fisher-Yates shuffle of a list in place. */
+  public <T> void shuffle(List<T> list) {
+    for (int i = list.size() - 1; i > 0; i--) {
+      int j = nextInt(i + 1);
+      list.set(j, list.set(i, list.get(j)));
+    }
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public long getDraws() {
+    return draws;
+  }
+}
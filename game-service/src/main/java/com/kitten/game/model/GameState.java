@@ -1,14 +1,20 @@
 package com.kitten.game.model;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 public class GameState {
   private String gameId; // UUID of persisted game record
   private String lobbyId;
+  private volatile long version; // bumped once per state-changing command; volatile as GET reads it outside the mailbox
   private List<PlayerState> players;
+  private List<String> seats = new ArrayList<>(); // player ids in starting order; never changes, unlike players
   private List<String> eliminatedPlayers = new ArrayList<>();
-  private List<CardType> deck;
+  private Deck deck;
   private List<CardType> usedCards = new ArrayList<>();
   private int currentPlayerIndex;
   private int cardsToDraw;
@@ -19,11 +25,18 @@ public class GameState {
   private List<CardType> selectedCatCards = new ArrayList<>();
   private String catComboType; // "steal_random" or "steal_defuse"
 
+  private GameRandom random; // seeded per game; never sent to clients since it predicts the deck
+
+  // playerId -> index in players (turn order); rebuilt whenever the player list changes
+  private final Map<String, Integer> seatByPlayerId = new HashMap<>();
+  // Immutable copy of the ids in players, swapped on every change; the only player data safe to read outside the mailbox
+  private volatile List<String> playerIdsSnapshot = List.of();
+
   public GameState() {}
 
-  public GameState(String lobbyId, List<PlayerState> players, List<CardType> deck, int currentPlayerIndex, boolean gameStarted) {
+  public GameState(String lobbyId, List<PlayerState> players, Deck deck, int currentPlayerIndex, boolean gameStarted) {
     this.lobbyId = lobbyId;
-    this.players = players;
+    setPlayers(players);
     this.deck = deck;
     this.currentPlayerIndex = currentPlayerIndex;
     this.gameStarted = gameStarted;
@@ -37,6 +50,23 @@ public class GameState {
     this.gameId = gameId;
   }
 
+  @JsonIgnore
+  public GameRandom getRandom() {
+    return random;
+  }
+
+  public void setRandom(GameRandom random) {
+    this.random = random;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
   public String getLobbyId() {
     return lobbyId;
   }
@@ -51,17 +81,77 @@ public class GameState {
 
   public void setPlayers(List<PlayerState> players) {
     this.players = players;
+    reindexPlayers();
+  }
+
+  /** @return the player's index in turn order, or -1 if they are not (or no longer) in the game */
+  public int indexOfPlayer(String playerId) {
+    Integer seat = playerId != null ? seatByPlayerId.get(playerId) : null;
+    return seat != null ? seat : -1;
+  }
+
+  /** @return the player with the given id, or null if they are not (or no longer) in the game */
+  public PlayerState findPlayer(String playerId) {
+    int seat = indexOfPlayer(playerId);
+    return seat >= 0 ? players.get(seat) : null;
+  }
+
+  /** Index of the player after {@code currentIndex} in turn order, or -1 if no players are left. */
+  public int nextPlayerIndex(int currentIndex) {
+    if (players == null || players.isEmpty()) return -1;
+    return (currentIndex + 1) % players.size();
+  }
+
+  /**
+   * Removes a player from turn order (elimination) and updates the index.
+   * Players after the removed one shift down by one seat.
+   */
+  public boolean removePlayer(PlayerState player) {
+    if (!players.remove(player)) return false;
+    reindexPlayers();
+    return true;
+  }
+
+  private void reindexPlayers() {
+    seatByPlayerId.clear();
+    if (players == null) {
+      playerIdsSnapshot = List.of();
+      return;
+    }
+    String[] ids = new String[players.size()];
+    for (int i = 0; i < players.size(); i++) {
+      ids[i] = players.get(i).getPlayerId();
+      seatByPlayerId.put(ids[i], i);
+    }
+    playerIdsSnapshot = List.of(ids);
+  }
+
+  /**
+   * Ids of the players still in the game, in turn order, as of the last completed change to the player list.
+   * Immutable, so unlike {@link #getPlayers} and {@link #findPlayer} it may be read from outside the game's mailbox.
+   */
+  @JsonIgnore
+  public List<String> getPlayerIdsSnapshot() {
+    return playerIdsSnapshot;
+  }
+
+  public List<String> getSeats() {
+    return seats;
+  }
+
+  public void setSeats(List<String> seats) {
+    this.seats = seats;
   }
 
   public List<String> getEliminatedPlayers() {
     return eliminatedPlayers;
   }
 
-  public List<CardType> getDeck() {
+  public Deck getDeck() {
     return deck;
   }
 
-  public void setDeck(List<CardType> deck) {
+  public void setDeck(Deck deck) {
     this.deck = deck;
   }
 
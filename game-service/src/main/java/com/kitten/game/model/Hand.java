@@ -0,0 +1,101 @@
+package com.kitten.game.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * A player's hand as a multiset: one counter per {@link CardType}.
+ * Add, remove, contains and count are O(1) and allocation-free. Order is not kept; views list cards
+ * grouped by type in {@link CardType} order. Serializes as a JSON array of card names.
+ */
+public class Hand {
+
+  private static final CardType[] CARDS = CardType.values();
+
+  private final byte[] counts = new byte[CARDS.length];
+  private int size;
+
+  public Hand() {}
+
+  @JsonCreator
+  public static Hand of(List<CardType> cards) {
+    Hand hand = new Hand();
+    for (CardType card : cards) {
+      hand.add(card);
+    }
+    return hand;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int count(CardType card) {
+    return counts[card.ordinal()];
+  }
+
+  public boolean contains(CardType card) {
+    return counts[card.ordinal()] > 0;
+  }
+
+  public void add(CardType card) {
+    counts[card.ordinal()]++;
+    size++;
+  }
+
+  /** Removes one copy of the card. @return false if the hand had none */
+  public boolean remove(CardType card) {
+    int i = card.ordinal();
+    if (counts[i] == 0) return false;
+    counts[i]--;
+    size--;
+    return true;
+  }
+
+  /** The card at the given position in the grouped view, without building the view. */
+  public CardType get(int index) {
+    if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for hand of " + size);
+    int remaining = index;
+    for (int i = 0; i < counts.length; i++) {
+      if (remaining < counts[i]) return CARDS[i];
+      remaining -= counts[i];
+    }
+    throw new IllegalStateException("Hand counts out of sync with size");
+  }
+
+  @JsonValue
+  public List<CardType> toList() {
+    List<CardType> cards = new ArrayList<>(size);
+    for (int i = 0; i < counts.length; i++) {
+      for (int c = 0; c < counts[i]; c++) {
+        cards.add(CARDS[i]);
+      }
+    }
+    return cards;
+  }
+
+  @Override
+  public String toString() {
+    return toList().toString();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof Hand)) return false;
+    return Arrays.equals(counts, ((Hand) o).counts);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(counts);
+  }
+}
@@ -1,20 +1,18 @@
 package com.kitten.game.model;
 
-import java.util.List;
-
 public class PlayerState {
   private String playerId;
   private String playerName;
-  private List<CardType> hand;
+  private Hand hand;
 
   public PlayerState() {}
 
-  public PlayerState(String playerId, List<CardType> hand) {
+  public PlayerState(String playerId, Hand hand) {
     this.playerId = playerId;
     this.hand = hand;
   }
 
-  public PlayerState(String playerId, String playerName, List<CardType> hand) {
+  public PlayerState(String playerId, String playerName, Hand hand) {
     this.playerId = playerId;
     this.playerName = playerName;
     this.hand = hand;
@@ -36,11 +34,11 @@ public class PlayerState {
     this.playerName = playerName;
   }
 
-  public List<CardType> getHand() {
+  public Hand getHand() {
     return hand;
   }
 
-  public void setHand(List<CardType> hand) {
+  public void setHand(Hand hand) {
     this.hand = hand;
   }
 }
@@ -11,6 +11,7 @@ import com.kitten.game.entity.GameAction;
 
 public interface GameActionRepository extends JpaRepository<GameAction, UUID> {
 
+  /** Loads the whole log at once; replays stream it with GameActionReader instead. */
   List<GameAction> findByGameIdOrderBySeqAsc(UUID gameId);
 
   @Query("SELECT COALESCE(MAX(ga.seq), 0) FROM GameAction ga WHERE ga.gameId = :gameId")
@@ -4,6 +4,9 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.kitten.game.entity.GameParticipant;
 import com.kitten.game.entity.GameParticipantId;
@@ -11,4 +14,12 @@ import com.kitten.game.entity.GameParticipantId;
 public interface GameParticipantRepository extends JpaRepository<GameParticipant, GameParticipantId> {
 
   List<GameParticipant> findByGameIdOrderBySeatIndex(UUID gameId);
+
+  /** Sets every participant's result in one statement: WIN for the winner, ELIMINATED for the eliminated, else LOSS. */
+  @Modifying
+  @Query("UPDATE GameParticipant p SET p.result = CASE WHEN p.playerId = :winnerPlayerId THEN 'WIN' "
+      + "WHEN p.playerId IN :eliminatedPlayerIds THEN 'ELIMINATED' ELSE 'LOSS' END "
+      + "WHERE p.gameId = :gameId")
+  int updateResults(@Param("gameId") UUID gameId, @Param("winnerPlayerId") String winnerPlayerId,
+                    @Param("eliminatedPlayerIds") List<String> eliminatedPlayerIds);
 }
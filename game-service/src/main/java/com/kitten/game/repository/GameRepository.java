@@ -1,13 +1,24 @@
 package com.kitten.game.repository;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.kitten.game.entity.Game;
 
 public interface GameRepository extends JpaRepository<Game, UUID> {
 
   Optional<Game> findByLobbyId(String lobbyId);
+
+  /** @return 1 if the game was marked finished, 0 if it does not exist or already was */
+  @Modifying
+  @Query("UPDATE Game g SET g.status = :finished, g.endedAt = :endedAt, g.winnerPlayerId = :winnerPlayerId "
+      + "WHERE g.id = :gameId AND g.status <> :finished")
+  int markFinished(@Param("gameId") UUID gameId, @Param("winnerPlayerId") String winnerPlayerId,
+                   @Param("endedAt") Instant endedAt, @Param("finished") Game.GameStatus finished);
 }
@@ -0,0 +1,20 @@
+package com.kitten.game.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.kitten.game.entity.Game;
+import com.kitten.game.entity.GameSnapshot;
+
+public interface GameSnapshotRepository extends JpaRepository<GameSnapshot, UUID> {
+
+  /** Snapshots taken since {@code since} of games whose row still has the given status. */
+  @Query("SELECT s FROM GameSnapshot s WHERE s.takenAt >= :since "
+      + "AND EXISTS (SELECT g.id FROM Game g WHERE g.id = s.gameId AND g.status = :status)")
+  List<GameSnapshot> findRecoverable(@Param("since") Instant since, @Param("status") Game.GameStatus status);
+}
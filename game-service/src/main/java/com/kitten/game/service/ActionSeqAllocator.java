@@ -0,0 +1,59 @@
+package com.kitten.game.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.kitten.game.repository.GameActionRepository;
+
+/**
+ * Hands out game_actions.seq values from memory. Each active game has a counter that is seeded once:
+ * at 0 for a game this node just created, otherwise from the stored MAX(seq) the first time the game logs an
+ * action (e.g. after recovery). Every later allocation is an atomic increment with no database read, and
+ * two concurrent actions can never get the same seq.
+ */
+@Component
+public class ActionSeqAllocator {
+
+  private final GameActionRepository gameActionRepository;
+  private final Map<UUID, AtomicInteger> lastSeqByGame = new ConcurrentHashMap<>();
+
+  public ActionSeqAllocator(GameActionRepository gameActionRepository) {
+    this.gameActionRepository = gameActionRepository;
+  }
+
+  /** Registers a brand-new game, whose log is known to be empty. */
+  public void start(UUID gameId) {
+    lastSeqByGame.put(gameId, new AtomicInteger());
+  }
+
+  /** Seeds the counter for a game restored from storage whose last stored seq is known. */
+  public void resume(UUID gameId, int lastSeq) {
+    lastSeqByGame.put(gameId, new AtomicInteger(lastSeq));
+  }
+
+  public int next(UUID gameId) {
+    return counter(gameId).incrementAndGet();
+  }
+
+  /** The last seq handed out for the game, i.e. the seq of its most recent action. */
+  public int current(UUID gameId) {
+    return counter(gameId).get();
+  }
+
+  /** Forgets a game that is no longer active on this node. */
+  public void release(UUID gameId) {
+    lastSeqByGame.remove(gameId);
+  }
+
+  public int size() {
+    return lastSeqByGame.size();
+  }
+
+  private AtomicInteger counter(UUID gameId) {
+    return lastSeqByGame.computeIfAbsent(gameId, id -> new AtomicInteger(gameActionRepository.findMaxSeqByGameId(id)));
+  }
+}
@@ -0,0 +1,26 @@
+package com.kitten.game.service;
+
+/**
+ * Outcome of a game command, carrying the HTTP status the REST layer answers with.
+ */
+public enum CommandResult {
+  OK(200),
+  BAD_REQUEST(400),
+  FORBIDDEN(403),
+  NOT_FOUND(404),
+  CONFLICT(409);
+
+  private final int status;
+
+  CommandResult(int status) {
+    this.status = status;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public boolean isOk() {
+    return this == OK;
+  }
+}
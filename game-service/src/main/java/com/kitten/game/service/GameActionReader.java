@@ -0,0 +1,69 @@
+package com.kitten.game.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kitten.game.entity.GameAction;
+
+/**
+ * Streams a game's action log in seq order without loading it into memory. Rows come through a server-side
+ * cursor {@code game.replay.fetch-size} at a time and are handed to the consumer one by one.
+ * Seqs are allocated without gaps, so a missing one means a lost row; the log is refused rather than replayed wrong.
+ */
+@Component
+public class GameActionReader {
+
+  private static final String SELECT_SQL = "SELECT seq, turn_number, actor_user_id, receiver_user_id, action_type, payload "
+      + "FROM game_actions WHERE game_id = ? AND seq > ? AND seq <= ? ORDER BY seq";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int fetchSize;
+
+  public GameActionReader(JdbcTemplate jdbcTemplate, @Value("${game.replay.fetch-size:500}") int fetchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Passes the actions with {@code afterSeq < seq <= untilSeq} to the consumer in seq order.
+   * Read-only transaction because PostgreSQL only honours the fetch size (uses a cursor) with autocommit off.
+   *
+   * @return seq of the last action passed on, or {@code afterSeq} if there were none
+   * @throws IllegalStateException if a seq in the range is missing, i.e. the log has a hole
+   */
+  @Transactional(readOnly = true)
+  public int forEach(UUID gameId, int afterSeq, int untilSeq, Consumer<GameAction> consumer) {
+    int[] lastSeq = {afterSeq};
+    jdbcTemplate.query(con -> {
+      PreparedStatement statement = con.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(fetchSize);
+      statement.setObject(1, gameId);
+      statement.setInt(2, afterSeq);
+      statement.setInt(3, untilSeq);
+      return statement;
+    }, rs -> {
+      GameAction action = new GameAction();
+      action.setGameId(gameId);
+      action.setSeq(rs.getInt(1));
+      action.setTurnNumber((Integer) rs.getObject(2));
+      action.setActorUserId(rs.getString(3));
+      action.setReceiverUserId(rs.getString(4));
+      action.setActionType(rs.getString(5));
+      action.setPayload(rs.getString(6));
+      if (action.getSeq() != lastSeq[0] + 1) {
+        throw new IllegalStateException("Action log of game " + gameId + " is missing seq " + (lastSeq[0] + 1)
+            + (action.getSeq() > lastSeq[0] + 2 ? ".." + (action.getSeq() - 1) : ""));
+      }
+      consumer.accept(action);
+      lastSeq[0] = action.getSeq();
+    });
+    return lastSeq[0];
+  }
+}
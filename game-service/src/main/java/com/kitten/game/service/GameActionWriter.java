@@ -0,0 +1,188 @@
+package com.kitten.game.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.kitten.game.entity.GameAction;
+
+/**
+ * Write-behind for game_actions. Actions are queued in a bounded in-memory queue and a single background thread
+ * inserts them with JDBC batches of up to {@code game.actions.batch-size} rows, waiting at most
+ * {@code game.actions.linger-ms} for a batch to fill. When the database falls behind and the queue is full,
+ * {@link #enqueue} blocks, which slows the producing game down instead of dropping actions.
+ * Everything still queued is written on shutdown. {@link #isWritten} tells whether a game's actions up to a seq
+ * have left the queue, so a snapshot is never stored ahead of the log it resumes from.
+ */
+@Component
+public class GameActionWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(GameActionWriter.class);
+
+  private static final String INSERT_SQL = "INSERT INTO game_actions "
+      + "(id, game_id, seq, turn_number, actor_user_id, receiver_user_id, action_type, payload, created_at) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final BlockingQueue<GameAction> queue;
+  private final int batchSize;
+  private final long lingerNanos;
+  private final Thread thread = new Thread(this::run, "game-action-writer");
+  private volatile boolean running = true;
+  // Per game: highest seq queued and highest seq written (or given up on); dropped once they meet
+  private final Map<UUID, Watermark> watermarks = new ConcurrentHashMap<>();
+
+  public GameActionWriter(JdbcTemplate jdbcTemplate,
+                          @Value("${game.actions.queue-capacity:10000}") int queueCapacity,
+                          @Value("${game.actions.batch-size:200}") int batchSize,
+                          @Value("${game.actions.linger-ms:20}") long lingerMs) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = Math.max(1, batchSize);
+    this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+  }
+
+  @PostConstruct
+  public void start() {
+    thread.start();
+  }
+
+  /**
+   * Queues an action; blocks while the queue is full. After shutdown the action is written inline, and so is
+   * anything a concurrent shutdown left in the queue behind it.
+   */
+  public void enqueue(GameAction action) throws InterruptedException {
+    watermarks.compute(action.getGameId(), (gameId, watermark) -> {
+      Watermark w = watermark != null ? watermark : new Watermark();
+      w.queued = Math.max(w.queued, action.getSeq());
+      return w;
+    });
+    while (running) {
+      if (queue.offer(action, 100, TimeUnit.MILLISECONDS)) {
+        // Shutdown may have started after the check above and the writer may already be gone
+        if (!running) drainInline();
+        return;
+      }
+    }
+    write(List.of(action));
+    drainInline();
+  }
+
+  /**
+   * @return true if every action of the game with a seq up to {@code seq} has been written (a row that could not be
+   * written counts too, it is not coming); also true for actions this node never queued
+   */
+  public boolean isWritten(UUID gameId, int seq) {
+    Watermark watermark = watermarks.get(gameId);
+    return watermark == null || watermark.written >= Math.min(seq, watermark.queued);
+  }
+
+  public int getQueuedCount() {
+    return queue.size();
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    running = false;
+    thread.join(TimeUnit.SECONDS.toMillis(10));
+    if (thread.isAlive()) {
+      log.warn("Game action writer did not finish within 10s; {} actions still queued", queue.size());
+    } else {
+      drainInline(); // put by an enqueue that raced the writer's last look at the queue
+    }
+  }
+
+  private void drainInline() {
+    List<GameAction> rest = new ArrayList<>();
+    queue.drainTo(rest);
+    if (!rest.isEmpty()) write(rest);
+  }
+
+  private void run() {
+    List<GameAction> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        GameAction first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) continue;
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || remaining <= 0) break;
+          GameAction next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) break;
+          batch.add(next);
+        }
+      } catch (InterruptedException e) {
+        running = false;
+      }
+      if (!batch.isEmpty()) {
+        try {
+          write(batch);
+        } catch (RuntimeException e) {
+          log.warn("Failed to persist {} game actions: {}", batch.size(), e.getMessage(), e);
+        }
+        batch.clear();
+      }
+    }
+  }
+
+  /** Inserts the batch; falls back to row by row on error. */
+  private synchronized void write(List<GameAction> batch) {
+    List<Object[]> rows = new ArrayList<>(batch.size());
+    for (GameAction action : batch) {
+      rows.add(new Object[] {action.getId(), action.getGameId(), action.getSeq(), action.getTurnNumber(), action.getActorUserId(),
+          action.getReceiverUserId(), action.getActionType(), action.getPayload(), Timestamp.from(action.getCreatedAt())});
+    }
+    try {
+      jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    } catch (DataAccessException e) {
+      log.warn("Batch insert of {} game actions failed, retrying one by one: {}", rows.size(), e.getMessage());
+      for (Object[] row : rows) {
+        try {
+          jdbcTemplate.update(INSERT_SQL, row);
+        } catch (DataAccessException rowError) {
+          log.warn("Failed to persist game action: gameId={}, actionType={}, error={}", row[1], row[6], rowError.getMessage());
+        }
+      }
+    }
+    markWritten(batch);
+  }
+
+  private void markWritten(List<GameAction> batch) {
+    // A game's actions are queued, and so written, in seq order; the last one of each game in the batch is its highest
+    Map<UUID, Integer> highest = new HashMap<>();
+    for (GameAction action : batch) {
+      highest.put(action.getGameId(), action.getSeq());
+    }
+    for (Map.Entry<UUID, Integer> entry : highest.entrySet()) {
+      watermarks.computeIfPresent(entry.getKey(), (gameId, watermark) -> {
+        watermark.written = Math.max(watermark.written, entry.getValue());
+        return watermark.written >= watermark.queued ? null : watermark;
+      });
+    }
+  }
+
+  private static final class Watermark {
+    private volatile int queued;
+    private volatile int written;
+  }
+}
@@ -0,0 +1,123 @@
+package com.kitten.game.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs game commands one lobby at a time.
+ * Each lobby has a mailbox; commands submitted for a lobby run in submission order and never overlap,
+ * so they may mutate that lobby's GameState without locking. Mailboxes are drained on virtual threads,
+ * so different lobbies run in parallel with no global lock.
+ */
+@Component
+public class GameCommandExecutor {
+
+  private static final Logger log = LoggerFactory.getLogger(GameCommandExecutor.class);
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+  /**
+   * Queues a command for the lobby.
+   * @return future completed with the command's result, or exceptionally if the command throws
+   */
+  public <T> CompletableFuture<T> submit(String lobbyId, Supplier<T> command) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Runnable task = () -> {
+      try {
+        future.complete(command.get());
+      } catch (Throwable t) {
+        log.warn("Game command failed: lobbyId={}, error={}", lobbyId, t.getMessage(), t);
+        future.completeExceptionally(t);
+      }
+    };
+    while (true) {
+      Mailbox mailbox = mailboxes.computeIfAbsent(lobbyId, Mailbox::new);
+      if (mailbox.enqueue(task)) return future;
+      // Closed after its last command ran; it may still be mapped for a moment
+      mailboxes.remove(lobbyId, mailbox);
+    }
+  }
+
+  /**
+   * Retires the lobby's mailbox once its game is gone. Commands already queued, and any submitted before it
+   * goes idle, still run in it; the idle mailbox then unmaps itself and the next command starts a fresh one.
+   */
+  public void remove(String lobbyId) {
+    Mailbox mailbox = mailboxes.get(lobbyId);
+    if (mailbox != null) mailbox.retire();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Single-consumer queue: whoever flips {@code scheduled} from false to true starts a drain,
+   * and the drain re-checks the queue after clearing the flag so no command is stranded.
+   * A retired mailbox is closed by its own drain once the queue is empty, while the drain still owns it, so no
+   * command of it can overlap one in the lobby's next mailbox. The lock only orders enqueue against that close.
+   */
+  private final class Mailbox {
+    private final String lobbyId;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean retired;
+    private boolean closed; // guarded by this
+
+    Mailbox(String lobbyId) {
+      this.lobbyId = lobbyId;
+    }
+
+    /** @return false if the mailbox is closed; submit to the lobby's current one instead */
+    boolean enqueue(Runnable task) {
+      synchronized (this) {
+        if (closed) return false;
+        queue.add(task);
+      }
+      if (scheduled.compareAndSet(false, true)) {
+        executor.execute(this::drain);
+      }
+      return true;
+    }
+
+    void retire() {
+      retired = true;
+      enqueue(() -> { }); // wakes an idle mailbox so its drain gets to close it
+    }
+
+    private void drain() {
+      do {
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+          task.run();
+        }
+        if (retired && close()) return; // scheduled stays set: nothing drains a closed mailbox again
+        scheduled.set(false);
+      } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    private boolean close() {
+      synchronized (this) {
+        if (!queue.isEmpty()) return false;
+        closed = true;
+      }
+      mailboxes.remove(lobbyId, this);
+      return true;
+    }
+  }
+}
@@ -0,0 +1,702 @@
+package com.kitten.game.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitten.game.entity.GameAction;
+import com.kitten.game.model.CardType;
+import com.kitten.game.model.Deck;
+import com.kitten.game.model.GameState;
+import com.kitten.game.model.PlayerState;
+import com.kitten.game.util.CatComboEvaluator;
+
+/**
+ * Game commands (play, draw, favor, cat steal, ...). Every command for a lobby is run through
+ * {@link GameCommandExecutor}, so commands for one game never interleave and may mutate its state directly.
+ * State changes reach clients as versioned deltas via {@link GameStateBroadcaster}; everything a command
+ * publishes is sent as one envelope per destination by {@link GameEventBatcher}.
+ * Every command that changes state logs exactly one game_actions row carrying its inputs, so the log can be
+ * re-applied with {@link #replay}.
+ */
+@Service
+public class GameCommandService {
+
+  private final GameService gameService;
+  private final GameActionService gameActionService;
+  private final GameCommandExecutor commandExecutor;
+  private final GameStateBroadcaster stateBroadcaster;
+  private final GameEventBatcher events;
+  private final GameSnapshotService snapshots;
+  private final GameLifecycleManager lifecycle;
+  private final ObjectMapper objectMapper;
+
+  public GameCommandService(GameService gameService, GameActionService gameActionService,
+                            GameCommandExecutor commandExecutor, GameStateBroadcaster stateBroadcaster,
+                            GameEventBatcher events, GameSnapshotService snapshots, GameLifecycleManager lifecycle,
+                            ObjectMapper objectMapper) {
+    this.gameService = gameService;
+    this.gameActionService = gameActionService;
+    this.commandExecutor = commandExecutor;
+    this.stateBroadcaster = stateBroadcaster;
+    this.events = events;
+    this.snapshots = snapshots;
+    this.lifecycle = lifecycle;
+    this.objectMapper = objectMapper;
+  }
+
+  private static List<String> otherPlayerIds(GameState game, String playerId) {
+    List<PlayerState> players = game.getPlayers();
+    List<String> others = new ArrayList<>(players.size());
+    for (int i = 0; i < players.size(); i++) {
+      String pid = players.get(i).getPlayerId();
+      if (!pid.equals(playerId)) others.add(pid);
+    }
+    return others;
+  }
+
+  private static String playerName(GameState game, String playerId) {
+    PlayerState player = game.findPlayer(playerId);
+    return player != null ? player.getPlayerName() : "Unknown Player";
+  }
+
+  private static String cardsJson(List<CardType> cards) {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < cards.size(); i++) {
+      if (i > 0) json.append(',');
+      json.append('"').append(cards.get(i).name()).append('"');
+    }
+    return json.append(']').toString();
+  }
+
+  /**
+   * Runs a command against the lobby's game in its mailbox, then publishes the resulting state delta
+   * and flushes the command's events.
+   */
+  private CompletableFuture<CommandResult> execute(String lobbyId, Function<GameState, CommandResult> command) {
+    return commandExecutor.submit(lobbyId, () -> {
+      GameState game = gameService.getGame(lobbyId);
+      if (game == null) return CommandResult.NOT_FOUND;
+      events.begin(lobbyId);
+      try {
+        long version = game.getVersion();
+        CommandResult result = apply(game, command);
+        if (game.getVersion() != version) {
+          snapshots.afterCommand(game);
+          lifecycle.touch(game);
+        }
+        return result;
+      } finally {
+        events.flush(game);
+      }
+    });
+  }
+
+  private CommandResult apply(GameState game, Function<GameState, CommandResult> command) {
+    GameStateBroadcaster.Snapshot before = stateBroadcaster.capture(game);
+    CommandResult result = command.apply(game);
+    stateBroadcaster.publishChanges(game, before);
+    return result;
+  }
+
+  /**
+   * Re-applies one logged action to a game being rebuilt, through the same code as the live command, so state
+   * and version end up exactly as they were. The game must have no gameId while it is rebuilt, which keeps the
+   * command from logging itself (or persisting the finish) again; its events are muted, so nothing reaches the
+   * live topics whether or not events are coalesced.
+   *
+   * @return the command's result, or null if the action is not a command (GAME_START, ELIMINATED, FAVOR_REQUEST)
+   */
+  public CommandResult replay(GameState game, GameAction action) {
+    Function<GameState, CommandResult> command = loggedCommand(action);
+    if (command == null) return null;
+    events.mute(game.getLobbyId());
+    try {
+      return apply(game, command);
+    } finally {
+      events.discard();
+    }
+  }
+
+  private Function<GameState, CommandResult> loggedCommand(GameAction action) {
+    String type = action.getActionType();
+    String actor = action.getActorUserId();
+    String receiver = action.getReceiverUserId();
+    JsonNode payload;
+    try {
+      payload = action.getPayload() != null ? objectMapper.readTree(action.getPayload()) : null;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unreadable payload for action " + action.getSeq() + " (" + type + ")", e);
+    }
+    switch (type) {
+      case "SKIP_TURN":
+        return game -> doSkipTurn(game);
+      case "TARGETED_ATTACK_CONFIRM":
+        return game -> doConfirmTargetedAttack(game, actor, receiver);
+      case "FAVOR_RESPONSE": {
+        // Logged by the player who was asked, about the player who asked
+        CardType card = CardType.valueOf(payload.get("givenCard").asText());
+        return game -> doFavorResponse(game, receiver, actor, card);
+      }
+      case "CAT_COMBO": {
+        List<CardType> cats = cards(payload.get("cards"));
+        return game -> doCatCombo(game, actor, cats);
+      }
+      case "CAT_STEAL":
+        return game -> doCatSteal(game, actor, receiver);
+      case "CAT_STEAL_RESOLVE": {
+        int selectedIndex = payload.get("selectedIndex").asInt();
+        return game -> doResolveSteal(game, actor, selectedIndex);
+      }
+      case "DRAW_CARD":
+        return game -> doDrawCard(game, actor);
+      case "REORDER_FUTURE": {
+        List<CardType> reordered = cards(payload.get("cards"));
+        return game -> doReorderFuture(game, actor, reordered);
+      }
+      default:
+        if (type.startsWith("PLAY_")) {
+          CardType card = CardType.valueOf(type.substring("PLAY_".length()));
+          return game -> doPlayCard(game, actor, card);
+        }
+        return null;
+    }
+  }
+
+  private static List<CardType> cards(JsonNode array) {
+    List<CardType> cards = new ArrayList<>(array.size());
+    for (JsonNode card : array) {
+      cards.add(CardType.valueOf(card.asText()));
+    }
+    return cards;
+  }
+
+  public CompletableFuture<CommandResult> skipTurn(String lobbyId) {
+    return execute(lobbyId, game -> doSkipTurn(game));
+  }
+
+  public CompletableFuture<CommandResult> playCard(String lobbyId, String playerId, CardType card) {
+    return execute(lobbyId, game -> doPlayCard(game, playerId, card));
+  }
+
+  public CompletableFuture<CommandResult> confirmTargetedAttack(String lobbyId, String fromPlayerId, String toPlayerId) {
+    return execute(lobbyId, game -> doConfirmTargetedAttack(game, fromPlayerId, toPlayerId));
+  }
+
+  public CompletableFuture<CommandResult> favorResponse(String lobbyId, String fromPlayerId, String toPlayerId, CardType card) {
+    return execute(lobbyId, game -> doFavorResponse(game, fromPlayerId, toPlayerId, card));
+  }
+
+  public CompletableFuture<CommandResult> favorRequest(String lobbyId, String fromPlayerId, String toPlayerId) {
+    return execute(lobbyId, game -> doFavorRequest(game, fromPlayerId, toPlayerId));
+  }
+
+  public CompletableFuture<CommandResult> catCombo(String lobbyId, String playerId, List<CardType> cats) {
+    return execute(lobbyId, game -> doCatCombo(game, playerId, cats));
+  }
+
+  /** @return future of the valid steal targets, or of null if the game does not exist */
+  public CompletableFuture<List<String>> validStealTargets(String lobbyId, String playerId) {
+    return commandExecutor.submit(lobbyId, () -> {
+      GameState game = gameService.getGame(lobbyId);
+      if (game == null) return null;
+      // Eliminated players are already out of the player list
+      return otherPlayerIds(game, playerId);
+    });
+  }
+
+  public CompletableFuture<CommandResult> catSteal(String lobbyId, String fromPlayerId, String toPlayerId) {
+    return execute(lobbyId, game -> doCatSteal(game, fromPlayerId, toPlayerId));
+  }
+
+  public CompletableFuture<CommandResult> resolveSteal(String lobbyId, String stealerId, int selectedIndex) {
+    return execute(lobbyId, game -> doResolveSteal(game, stealerId, selectedIndex));
+  }
+
+  public CompletableFuture<CommandResult> drawCard(String lobbyId, String playerId) {
+    return execute(lobbyId, game -> doDrawCard(game, playerId));
+  }
+
+  public CompletableFuture<CommandResult> reorderFuture(String lobbyId, String playerId, List<CardType> reorderedCards) {
+    return execute(lobbyId, game -> doReorderFuture(game, playerId, reorderedCards));
+  }
+
+  private CommandResult doSkipTurn(GameState game) {
+    String lobbyId = game.getLobbyId();
+    if (game.getPlayers().size() <= 1) return CommandResult.CONFLICT; // Game over
+
+    int currentIndex = game.getCurrentPlayerIndex();
+    if (currentIndex >= game.getPlayers().size()) return CommandResult.CONFLICT;
+    String currentPlayerId = game.getPlayers().get(currentIndex).getPlayerId();
+    String currentPlayerName = game.getPlayers().get(currentIndex).getPlayerName();
+
+    int next = game.nextPlayerIndex(currentIndex);
+    if (next == -1) return CommandResult.BAD_REQUEST; // No players left
+
+    game.setCurrentPlayerIndex(next);
+
+    // Send action notification
+    Map<String, Object> actionData = new HashMap<>();
+    actionData.put("message", currentPlayerName + " used SKIP");
+    actionData.put("type", "info");
+    events.publish(lobbyId, "action", actionData);
+
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, currentPlayerId, null, "SKIP_TURN", null);
+    events.publish(lobbyId, "turn", game.getPlayers().get(next).getPlayerId());
+    return CommandResult.OK;
+  }
+
+  private CommandResult doPlayCard(GameState game, String playerId, CardType card) {
+    String lobbyId = game.getLobbyId();
+    if (game.getPlayers().size() <= 1) return CommandResult.CONFLICT; // Game over
+    boolean endTurnEarly = false;
+
+    int currentIndex = game.getCurrentPlayerIndex();
+    if (currentIndex >= game.getPlayers().size()) return CommandResult.CONFLICT;
+    PlayerState currentPlayer = game.getPlayers().get(currentIndex);
+    if (!currentPlayer.getPlayerId().equals(playerId)) return CommandResult.FORBIDDEN;
+
+    // DEFUSE and EXPLODING_KITTEN are only used by the system (on draw/steal), not playable by the player
+    if (card.is(CardType.Category.SYSTEM)) {
+      return CommandResult.BAD_REQUEST;
+    }
+    if (!currentPlayer.getHand().remove(card)) return CommandResult.BAD_REQUEST;
+
+    game.getUsedCards().add(card);
+
+    if (card == CardType.SHUFFLE) {
+      gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, null, "PLAY_SHUFFLE", null);
+      game.getDeck().shuffle(game.getRandom());
+      // Send action notification
+      Map<String, Object> actionData = new HashMap<>();
+      actionData.put("message", currentPlayer.getPlayerName() + " used SHUFFLE");
+      actionData.put("type", "info");
+      events.publish(lobbyId, "action", actionData);
+
+      return CommandResult.OK;
+    }
+
+    if (card == CardType.SKIP) {
+      game.setCardsToDraw(game.getCardsToDraw() - 1);
+      // Send action notification
+      Map<String, Object> actionData = new HashMap<>();
+      actionData.put("message", currentPlayer.getPlayerName() + " used SKIP");
+      actionData.put("type", "info");
+      events.publish(lobbyId, "action", actionData);
+    }
+
+    if (card == CardType.SEE_THE_FUTURE) {
+      gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, null, "PLAY_SEE_THE_FUTURE", null);
+      events.publishTo(lobbyId, playerId, "future", topCards(game.getDeck(), 3));
+      // Send action notification
+      Map<String, Object> actionData = new HashMap<>();
+      actionData.put("message", currentPlayer.getPlayerName() + " used SEE THE FUTURE");
+      actionData.put("type", "info");
+      events.publish(lobbyId, "action", actionData);
+
+      return CommandResult.OK;
+    }
+
+    if (card == CardType.ALTER_THE_FUTURE) {
+      gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, null, "PLAY_ALTER_THE_FUTURE", null);
+      events.publishTo(lobbyId, playerId, "alter", topCards(game.getDeck(), 3));
+      // Send action notification
+      Map<String, Object> actionData = new HashMap<>();
+      actionData.put("message", currentPlayer.getPlayerName() + " used ALTER THE FUTURE");
+      actionData.put("type", "info");
+      events.publish(lobbyId, "action", actionData);
+
+      return CommandResult.OK;
+    }
+
+    CardType drawnCard = null;
+    if (card == CardType.DRAW_FROM_BOTTOM) {
+      if (!game.getDeck().isEmpty()) {
+        drawnCard = game.getDeck().drawBottom();
+        endTurnEarly = gameService.handleDrawnCard(drawnCard, currentPlayer, game);
+        // Send action notification
+        Map<String, Object> actionData = new HashMap<>();
+        actionData.put("message", currentPlayer.getPlayerName() + " used DRAW FROM BOTTOM");
+        actionData.put("type", "info");
+        events.publish(lobbyId, "action", actionData);
+      }
+    }
+
+    if (card == CardType.FAVOR) {
+      game.setFavorFromPlayerId(playerId);
+      gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, null, "PLAY_FAVOR", null);
+      events.publishTo(lobbyId, playerId, "favor/select", otherPlayerIds(game, playerId));
+
+      // Send action notification
+      Map<String, Object> actionData = new HashMap<>();
+      actionData.put("message", currentPlayer.getPlayerName() + " used FAVOR");
+      actionData.put("type", "info");
+      events.publish(lobbyId, "action", actionData);
+
+      return CommandResult.OK;
+    }
+
+    if (card == CardType.ATTACK) {
+      int next = game.nextPlayerIndex(currentIndex);
+      if (next == -1) return CommandResult.BAD_REQUEST;
+      String nextPlayerId = game.getPlayers().get(next).getPlayerId();
+      gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, nextPlayerId, "PLAY_ATTACK", null);
+
+      game.setCurrentPlayerIndex(next);
+      game.setCardsToDraw(game.getCardsToDraw() + 2);
+
+      // Send action notification
+      Map<String, Object> actionData = new HashMap<>();
+      actionData.put("message", currentPlayer.getPlayerName() + " used ATTACK");
+      actionData.put("type", "warning");
+      events.publish(lobbyId, "action", actionData);
+
+      events.publish(lobbyId, "turn", game.getPlayers().get(next).getPlayerId());
+
+      return CommandResult.OK;
+    }
+
+    if (card == CardType.TARGETED_ATTACK) {
+      gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, null, "PLAY_TARGETED_ATTACK", null);
+      List<String> targets = otherPlayerIds(game, playerId);
+
+      events.publishTo(lobbyId, playerId, "targeted/select", targets);
+
+      // Send action notification
+      Map<String, Object> actionData = new HashMap<>();
+      actionData.put("message", currentPlayer.getPlayerName() + " used TARGETED ATTACK");
+      actionData.put("type", "warning");
+      events.publish(lobbyId, "action", actionData);
+
+      return CommandResult.OK;
+    }
+
+    // SKIP, DRAW_FROM_BOTTOM (payload: the card drawn, if any) and cards with no effect of their own
+    String payload = card != CardType.DRAW_FROM_BOTTOM ? "{\"cardType\":\"" + card.name() + "\"}"
+        : drawnCard != null ? "{\"cardType\":\"" + drawnCard.name() + "\"}" : null;
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, null, "PLAY_" + card.name(), payload);
+
+    if (endTurnEarly || game.getCardsToDraw() <= 0) {
+      int next = game.nextPlayerIndex(currentIndex);
+      if (next == -1) return CommandResult.BAD_REQUEST; // No players left
+
+      game.setCurrentPlayerIndex(next);
+      game.setCardsToDraw(1);
+
+      events.publish(lobbyId, "turn", game.getPlayers().get(next).getPlayerId());
+    }
+
+    return CommandResult.OK;
+  }
+
+  private CommandResult doConfirmTargetedAttack(GameState game, String fromPlayerId, String toPlayerId) {
+    String lobbyId = game.getLobbyId();
+
+    int targetIndex = game.indexOfPlayer(toPlayerId);
+    if (targetIndex == -1) return CommandResult.BAD_REQUEST;
+
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, fromPlayerId, toPlayerId, "TARGETED_ATTACK_CONFIRM", null);
+    game.setTargetedAttackTargetId(toPlayerId);
+    game.setCardsToDraw(game.getCardsToDraw() + 2); // 2 attack + 1 normal
+
+    // Update turn to the target
+    game.setCurrentPlayerIndex(targetIndex);
+
+    // Get player names for the notification
+    String fromPlayerName = playerName(game, fromPlayerId);
+    String toPlayerName = playerName(game, toPlayerId);
+
+    // Send action notification
+    Map<String, Object> actionData = new HashMap<>();
+    actionData.put("message", fromPlayerName + " used targeted attack on " + toPlayerName);
+    actionData.put("type", "warning");
+    events.publish(lobbyId, "action", actionData);
+
+    events.publish(lobbyId, "turn", toPlayerId);
+
+    return CommandResult.OK;
+  }
+
+  private CommandResult doFavorResponse(GameState game, String fromPlayerId, String toPlayerId, CardType card) {
+    PlayerState fromPlayer = game.findPlayer(fromPlayerId);
+    PlayerState toPlayer = game.findPlayer(toPlayerId);
+
+    if (fromPlayer == null || toPlayer == null || !fromPlayer.getHand().remove(card)) {
+      return CommandResult.BAD_REQUEST;
+    }
+
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, toPlayerId, fromPlayerId, "FAVOR_RESPONSE", "{\"givenCard\":\"" + card.name() + "\"}");
+    toPlayer.getHand().add(card);
+    return CommandResult.OK;
+  }
+
+  private CommandResult doFavorRequest(GameState game, String fromPlayerId, String toPlayerId) {
+    String lobbyId = game.getLobbyId();
+
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, fromPlayerId, toPlayerId, "FAVOR_REQUEST", null);
+
+    // Get player names for the notification
+    String fromPlayerName = playerName(game, fromPlayerId);
+    String toPlayerName = playerName(game, toPlayerId);
+
+    events.publishTo(lobbyId, toPlayerId, "favor/request", fromPlayerId);
+
+    // Send action notification
+    Map<String, Object> actionData = new HashMap<>();
+    actionData.put("message", fromPlayerName + " asked favor from " + toPlayerName);
+    actionData.put("type", "info");
+    events.publish(lobbyId, "action", actionData);
+
+    return CommandResult.OK;
+  }
+
+  private CommandResult doCatCombo(GameState game, String playerId, List<CardType> cats) {
+    String lobbyId = game.getLobbyId();
+
+    PlayerState player = game.findPlayer(playerId);
+    if (player == null) return CommandResult.NOT_FOUND;
+
+    // Validate cat combination and that the player holds every card before touching the hand
+    String comboType = CatComboEvaluator.evaluate(cats);
+    if (comboType == null || !CatComboEvaluator.isHeldBy(player.getHand(), cats)) {
+        return CommandResult.BAD_REQUEST;
+    }
+
+    // Remove cat cards from hand
+    for (CardType cat : cats) {
+        player.getHand().remove(cat);
+    }
+
+    game.setSelectedCatCards(cats);
+    game.setCatComboType(comboType);
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, null, "CAT_COMBO",
+        "{\"comboType\":\"" + comboType + "\",\"cards\":" + cardsJson(cats) + "}");
+
+    // Notify frontend to select opponent
+    events.publishTo(lobbyId, playerId, "cat/select-opponent", otherPlayerIds(game, playerId));
+
+    return CommandResult.OK;
+  }
+
+  private CommandResult doCatSteal(GameState game, String fromPlayerId, String toPlayerId) {
+    String lobbyId = game.getLobbyId();
+
+    String comboType = game.getCatComboType();
+    if (comboType == null) {
+        return CommandResult.BAD_REQUEST;
+    }
+
+    PlayerState target = game.findPlayer(toPlayerId);
+
+    if (target == null) {
+        return CommandResult.BAD_REQUEST;
+    }
+
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, fromPlayerId, toPlayerId, "CAT_STEAL", "{\"comboType\":\"" + comboType + "\"}");
+
+    if (CatComboEvaluator.STEAL_DEFUSE.equals(comboType)) {
+        // Direct defuse stealing - no need to select card
+        return handleDefuseStealDirect(game, fromPlayerId, toPlayerId);
+    } else if (CatComboEvaluator.STEAL_RANDOM.equals(comboType)) {
+        // Random card stealing - need to select from opponent's hand
+        if (target.getHand().isEmpty()) {
+            return CommandResult.BAD_REQUEST;
+        }
+
+        List<CardType> shuffledHand = target.getHand().toList();
+        game.getRandom().shuffle(shuffledHand);
+
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 1; i <= shuffledHand.size(); i++) {
+            indices.add(i); // Show numbered options
+        }
+
+        // Send to frontend with count of options (1..N)
+        events.publishTo(lobbyId, fromPlayerId, "cat/select-number", indices);
+
+        // Store mapping for future lookup
+        game.setPendingStealFromPlayerId(toPlayerId);
+        game.setSelectedCatCards(shuffledHand); // reuse to store randomized view
+
+        return CommandResult.OK;
+    }
+
+    return CommandResult.BAD_REQUEST;
+  }
+
+  // Helper method for direct defuse stealing
+  private CommandResult handleDefuseStealDirect(GameState game, String fromPlayerId, String toPlayerId) {
+    String lobbyId = game.getLobbyId();
+
+    PlayerState from = game.findPlayer(fromPlayerId);
+    PlayerState to = game.findPlayer(toPlayerId);
+
+    if (from == null || to == null) return CommandResult.BAD_REQUEST;
+
+    // Get player names for the notification
+    String stealerName = from.getPlayerName();
+    String targetName = to.getPlayerName();
+
+    // Attempt to steal DEFUSE
+    boolean defuseStolen = false;
+    if (to.getHand().remove(CardType.DEFUSE)) {
+        from.getHand().add(CardType.DEFUSE);
+        defuseStolen = true;
+    }
+
+    // Send action notification for defuse stealing
+    Map<String, Object> actionData = new HashMap<>();
+    if (defuseStolen) {
+        actionData.put("message", stealerName + " stole a DEFUSE card from " + targetName + " using cat cards");
+        actionData.put("type", "warning");
+    } else {
+        actionData.put("message", stealerName + " attempted to steal DEFUSE from " + targetName + " but failed");
+        actionData.put("type", "info");
+    }
+    events.publish(lobbyId, "action", actionData);
+
+    // Clear the cat combo state
+    game.setSelectedCatCards(new ArrayList<>());
+    game.setCatComboType(null);
+    game.setPendingStealFromPlayerId(null);
+
+    return CommandResult.OK;
+  }
+
+  private CommandResult doResolveSteal(GameState game, String stealerId, int selectedIndex) {
+    String lobbyId = game.getLobbyId();
+
+    String targetId = game.getPendingStealFromPlayerId();
+    PlayerState from = game.findPlayer(stealerId);
+    PlayerState to = game.findPlayer(targetId);
+
+    if (from == null || to == null || selectedIndex < 1 || selectedIndex > game.getSelectedCatCards().size()) {
+        return CommandResult.BAD_REQUEST;
+    }
+
+    CardType stolen = game.getSelectedCatCards().get(selectedIndex - 1);
+
+    if (!to.getHand().remove(stolen)) return CommandResult.BAD_REQUEST;
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, stealerId, targetId, "CAT_STEAL_RESOLVE",
+        "{\"selectedIndex\":" + selectedIndex + ",\"cardType\":\"" + stolen.name() + "\"}");
+
+    // The cat cards were already removed when the combo was played
+    // Just add them to the used pile
+    for (CardType cat : game.getSelectedCatCards()) {
+        game.getUsedCards().add(cat);
+    }
+
+    from.getHand().add(stolen);
+
+    // Get player names for the notification
+    String stealerName = from.getPlayerName();
+    String targetName = to.getPlayerName();
+
+    // Send action notification for cat card stealing
+    Map<String, Object> actionData = new HashMap<>();
+    actionData.put("message", stealerName + " stole a card from " + targetName + " using cat cards");
+    actionData.put("type", "info");
+    events.publish(lobbyId, "action", actionData);
+
+    // Clear temp state
+    game.setSelectedCatCards(new ArrayList<>());
+    game.setPendingStealFromPlayerId(null);
+    game.setCatComboType(null);
+
+    return CommandResult.OK;
+  }
+
+  private CommandResult doDrawCard(GameState game, String playerId) {
+    String lobbyId = game.getLobbyId();
+    if (game.getPlayers().size() <= 1) return CommandResult.CONFLICT; // Game over
+    boolean endTurnEarly = false;
+
+    int currentIndex = game.getCurrentPlayerIndex();
+    if (currentIndex >= game.getPlayers().size()) return CommandResult.CONFLICT;
+    PlayerState currentPlayer = game.getPlayers().get(currentIndex);
+
+    if(!currentPlayer.getPlayerId().equals(playerId)) {
+      return CommandResult.FORBIDDEN;
+    }
+
+    CardType drawnCard = null;
+    if (!game.getDeck().isEmpty()) {
+      drawnCard = game.getDeck().drawTop();
+      endTurnEarly = gameService.handleDrawnCard(drawnCard, currentPlayer, game);
+
+      // Send action notification for drawing a card
+      Map<String, Object> actionData = new HashMap<>();
+      actionData.put("message", currentPlayer.getPlayerName() + " drew a card from the deck");
+      actionData.put("type", "info");
+      events.publish(lobbyId, "action", actionData);
+
+      // If the drawn card was an Exploding Kitten, send notification about getting exploding kitten
+      if (drawnCard == CardType.EXPLODING_KITTEN) {
+        Map<String, Object> explodingActionData = new HashMap<>();
+        explodingActionData.put("message", currentPlayer.getPlayerName() + " got exploding kitten");
+        explodingActionData.put("type", "error");
+        events.publish(lobbyId, "action", explodingActionData);
+
+        // If player used Defuse, send additional notification
+        if (endTurnEarly) {
+          Map<String, Object> defuseActionData = new HashMap<>();
+          defuseActionData.put("message", currentPlayer.getPlayerName() + " used DEFUSE");
+          defuseActionData.put("type", "success");
+          events.publish(lobbyId, "action", defuseActionData);
+        }
+      }
+    }
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, null, "DRAW_CARD",
+        drawnCard != null ? "{\"cardType\":\"" + drawnCard.name() + "\"}" : null);
+
+    if (endTurnEarly || game.getCardsToDraw() <= 0) {
+      // Game may have just ended (one player left)
+      if (game.getPlayers().size() <= 1) {
+        game.setCardsToDraw(0);
+        return CommandResult.OK;
+      }
+      // If endTurnEarly is true, the GameService has already set the correct next player
+      if (!endTurnEarly) {
+        int next = game.nextPlayerIndex(currentIndex);
+        if (next == -1) return CommandResult.BAD_REQUEST;
+        game.setCurrentPlayerIndex(next);
+        game.setCardsToDraw(1);
+        events.publish(lobbyId, "turn", game.getPlayers().get(next).getPlayerId());
+      } else {
+        game.setCardsToDraw(1);
+        int idx = game.getCurrentPlayerIndex();
+        if (idx >= 0 && idx < game.getPlayers().size()) {
+          events.publish(lobbyId, "turn", game.getPlayers().get(idx).getPlayerId());
+        }
+      }
+    }
+
+    return CommandResult.OK;
+  }
+
+  private CommandResult doReorderFuture(GameState game, String playerId, List<CardType> reorderedCards) {
+    Deck deck = game.getDeck();
+    if (reorderedCards.size() > deck.size()) return CommandResult.BAD_REQUEST;
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, playerId, null, "REORDER_FUTURE",
+        "{\"cards\":" + cardsJson(reorderedCards) + "}");
+    for (int i = 0; i < reorderedCards.size(); i++) {
+      deck.set(i, reorderedCards.get(i));
+    }
+    return CommandResult.OK;
+  }
+
+  /** The top {@code count} cards (fewer if the deck is smaller) as an exactly-sized array for an event payload. */
+  private static CardType[] topCards(Deck deck, int count) {
+    CardType[] top = new CardType[Math.min(count, deck.size())];
+    deck.copyTop(top);
+    return top;
+  }
+}
@@ -0,0 +1,106 @@
+package com.kitten.game.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.kitten.game.config.GameCodecInterceptor;
+import com.kitten.game.dto.GameEventEnvelope;
+import com.kitten.game.model.GameState;
+
+/**
+ * Collects the WebSocket events a command produces and sends them as one {@link GameEventEnvelope} per
+ * destination when the command finishes, instead of one broker message per event.
+ * A batch is bound to the mailbox thread between {@link #begin} and {@link #flush}; events published
+ * outside a batch are sent straight away as a one-event envelope. A batch opened with {@link #mute} sends nothing,
+ * coalescing or not.
+ * Coalescing changes the wire format (clients must subscribe to /topic/game/{lobbyId}/events), so it is opt-in
+ * with {@code game.events.coalesce=true}; by default every event goes straight to its per-topic destination.
+ */
+@Component
+public class GameEventBatcher {
+
+  private final SimpMessagingTemplate messagingTemplate;
+  private final boolean coalesce;
+  private final ThreadLocal<Batch> current = new ThreadLocal<>();
+
+  public GameEventBatcher(SimpMessagingTemplate messagingTemplate,
+                          @Value("${game.events.coalesce:false}") boolean coalesce) {
+    this.messagingTemplate = messagingTemplate;
+    this.coalesce = coalesce;
+  }
+
+  public void begin(String lobbyId) {
+    current.set(new Batch(lobbyId, false));
+  }
+
+  /** Like {@link #begin}, but every event published on this thread until {@link #discard} is dropped. */
+  public void mute(String lobbyId) {
+    current.set(new Batch(lobbyId, true));
+  }
+
+  /** Sends everything collected since {@link #begin}, stamped with the game's version after the command. */
+  public void flush(GameState game) {
+    Batch batch = current.get();
+    current.remove();
+    if (batch == null || batch.muted) return;
+    long version = game != null ? game.getVersion() : 0;
+    for (Map.Entry<String, GameEventEnvelope> entry : batch.envelopes.entrySet()) {
+      entry.getValue().setVersion(version);
+      send(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /** Drops everything collected since {@link #begin} without sending it, or ends a {@link #mute}. */
+  public void discard() {
+    current.remove();
+  }
+
+  /** An event every subscriber of the lobby sees, e.g. publish(lobbyId, "action", data). */
+  public void publish(String lobbyId, String topic, Object payload) {
+    send(lobbyId, null, topic, payload);
+  }
+
+  /** An event only {@code playerId} sees, e.g. publishTo(lobbyId, playerId, "future", cards). */
+  public void publishTo(String lobbyId, String playerId, String topic, Object payload) {
+    send(lobbyId, playerId, topic, payload);
+  }
+
+  private void send(String lobbyId, String playerId, String topic, Object payload) {
+    Batch batch = current.get();
+    if (batch != null && batch.muted) return;
+    String base = "/topic/game/" + lobbyId + "/";
+    if (!coalesce) {
+      send(base + topic + (playerId != null ? "/" + playerId : ""), payload);
+      return;
+    }
+    String destination = base + "events" + (playerId != null ? "/" + playerId : "");
+    if (batch == null || !batch.lobbyId.equals(lobbyId)) {
+      GameEventEnvelope envelope = new GameEventEnvelope(lobbyId, 0);
+      envelope.getEvents().add(new GameEventEnvelope.Event(topic, payload));
+      send(destination, envelope);
+      return;
+    }
+    batch.envelopes.computeIfAbsent(destination, d -> new GameEventEnvelope(lobbyId, 0))
+        .getEvents().add(new GameEventEnvelope.Event(topic, payload));
+  }
+
+  /** Every game event goes out with an encoding cache, so binary sessions share one encoding per broadcast. */
+  private void send(String destination, Object payload) {
+    messagingTemplate.convertAndSend(destination, payload, GameCodecInterceptor::withEncodingCache);
+  }
+
+  private static final class Batch {
+    private final String lobbyId;
+    private final boolean muted;
+    private final Map<String, GameEventEnvelope> envelopes = new LinkedHashMap<>();
+
+    private Batch(String lobbyId, boolean muted) {
+      this.lobbyId = lobbyId;
+      this.muted = muted;
+    }
+  }
+}
@@ -0,0 +1,265 @@
+package com.kitten.game.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kitten.game.dto.GameLifecycleStats;
+import com.kitten.game.model.GameState;
+
+/**
+ * Removes games from this node once nobody needs them: {@code game.lifecycle.finished-ttl-seconds} after a game
+ * ends, and {@code game.lifecycle.idle-ttl-seconds} after the last command of one that was abandoned mid-game; an
+ * abandoned game's snapshot is deleted with it, so {@link GameRecoveryService} does not restore it after a restart.
+ * Before that, a game with no command for {@code game.lifecycle.park-after-seconds} (0 = never) is parked in the
+ * {@link ParkedGameStore} and its GameState dropped from the heap; {@link GameService#getGame} brings it back.
+ * Deadlines are kept in a hashed timing wheel of {@code wheel-slots} slots, {@code tick-ms} apart, so each tick only
+ * looks at the games filed in one slot instead of scanning every game. A command just moves its game's deadline;
+ * when the old slot comes round the game is filed again under the new one (deadlines more than one turn of the
+ * wheel away are filed under their slot and skipped until their turn comes).
+ * Also caps the number of live games at {@code game.lifecycle.max-active-games} (0 = no cap); parked games do not count.
+ * The cap only refuses new starts: a parked game is always brought back, since refusing it would lock its players
+ * out of a game in progress, so unparks can push the count over the cap and are reported in the stats instead.
+ */
+@Component
+public class GameLifecycleManager {
+
+  private static final Logger log = LoggerFactory.getLogger(GameLifecycleManager.class);
+
+  private final GameRegistry gameRegistry;
+  private final GameCommandExecutor commandExecutor;
+  private final GameStateJsonCache jsonCache;
+  private final ActionSeqAllocator seqAllocator;
+  private final GameSnapshotService snapshots;
+  private final ParkedGameStore parkedGames;
+  private final long tickMs;
+  private final long finishedTtlTicks;
+  private final long idleTtlTicks;
+  private final long parkAfterTicks; // 0 = never park
+  private final int maxActiveGames;
+
+  private final Queue<Entry>[] wheel;
+  private final int slotMask;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>(1024); // by lobbyId
+  private volatile long currentTick; // only advanced by the ticker thread
+  private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(task -> new Thread(task, "game-lifecycle"));
+
+  private final AtomicLong evictedFinished = new AtomicLong();
+  private final AtomicLong evictedIdle = new AtomicLong();
+  private final AtomicLong parked = new AtomicLong();
+  private final AtomicLong rejectedStarts = new AtomicLong();
+  private final AtomicLong unparked = new AtomicLong();
+  private final AtomicLong unparkedOverCap = new AtomicLong();
+
+  @SuppressWarnings("unchecked")
+  public GameLifecycleManager(GameRegistry gameRegistry, GameCommandExecutor commandExecutor,
+                              GameStateJsonCache jsonCache, ActionSeqAllocator seqAllocator, GameSnapshotService snapshots,
+                              ParkedGameStore parkedGames,
+                              @Value("${game.lifecycle.tick-ms:1000}") long tickMs,
+                              @Value("${game.lifecycle.wheel-slots:512}") int wheelSlots,
+                              @Value("${game.lifecycle.finished-ttl-seconds:300}") long finishedTtlSeconds,
+                              @Value("${game.lifecycle.idle-ttl-seconds:1800}") long idleTtlSeconds,
+                              @Value("${game.lifecycle.park-after-seconds:120}") long parkAfterSeconds,
+                              @Value("${game.lifecycle.max-active-games:10000}") int maxActiveGames) {
+    this.gameRegistry = gameRegistry;
+    this.commandExecutor = commandExecutor;
+    this.jsonCache = jsonCache;
+    this.seqAllocator = seqAllocator;
+    this.snapshots = snapshots;
+    this.parkedGames = parkedGames;
+    this.tickMs = Math.max(1, tickMs);
+    this.finishedTtlTicks = ticks(finishedTtlSeconds);
+    this.idleTtlTicks = ticks(idleTtlSeconds);
+    this.parkAfterTicks = parkAfterSeconds > 0 ? ticks(parkAfterSeconds) : 0;
+    this.maxActiveGames = maxActiveGames;
+
+    // Power of two so the slot can be picked with a mask
+    int size = Integer.highestOneBit(Math.max(2, wheelSlots) - 1) << 1;
+    this.wheel = new Queue[size];
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new ConcurrentLinkedQueue<>();
+    }
+    this.slotMask = size - 1;
+  }
+
+  private long ticks(long seconds) {
+    return Math.max(1, (TimeUnit.SECONDS.toMillis(seconds) + tickMs - 1) / tickMs);
+  }
+
+  @PostConstruct
+  public void start() {
+    ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    ticker.shutdownNow();
+  }
+
+  /** @return false (and counts a rejected start) if this node already runs max-active-games games */
+  public boolean admit() {
+    if (maxActiveGames > 0 && gameRegistry.size() >= maxActiveGames) {
+      rejectedStarts.incrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  /** Starts the clock on a game that was just created or recovered. */
+  public void register(GameState game) {
+    Entry entry = new Entry(game);
+    entry.lastActionTick = currentTick;
+    entry.finished = game.getPlayers().size() <= 1;
+    entry.deadlineTick = deadlineFor(entry);
+    Entry previous = entries.put(game.getLobbyId(), entry);
+    if (previous != null) previous.removed = true;
+    file(entry, entry.deadlineTick);
+  }
+
+  /** Like {@link #register} for a game brought back from the parked store; not subject to {@link #admit}. */
+  public void registerUnparked(GameState game) {
+    unparked.incrementAndGet();
+    // Called before the game is back in the registry, so at the cap it is about to go over it
+    if (maxActiveGames > 0 && gameRegistry.size() >= maxActiveGames) unparkedOverCap.incrementAndGet();
+    register(game);
+  }
+
+  /** Restarts the game's clock after a command; a volatile write unless the deadline moved earlier. Call from its mailbox. */
+  public void touch(GameState game) {
+    Entry entry = entries.get(game.getLobbyId());
+    if (entry == null || entry.game != game) return;
+    entry.lastActionTick = currentTick;
+    entry.finished = game.getPlayers().size() <= 1;
+    long deadline = deadlineFor(entry);
+    long previous = entry.deadlineTick;
+    entry.deadlineTick = deadline;
+    if (deadline < previous) {
+      // The game just finished and its TTL is shorter than the idle one; the slot it sits in would fire too late.
+      // The old filing stays behind and is dropped when it comes round after the game is gone.
+      file(entry, deadline);
+    }
+  }
+
+  public GameLifecycleStats stats() {
+    return new GameLifecycleStats(gameRegistry.size(), maxActiveGames, evictedFinished.get(), evictedIdle.get(),
+        rejectedStarts.get(), parkedGames.size(), parkedGames.bytes(), parked.get(), unparked.get(), unparkedOverCap.get());
+  }
+
+  /** When the entry next needs attention: its finish or idle TTL, or the time to park it if that comes first. */
+  private long deadlineFor(Entry entry) {
+    if (entry.finished) return entry.lastActionTick + finishedTtlTicks;
+    if (entry.game != null && parkAfterTicks > 0 && parkAfterTicks < idleTtlTicks) {
+      return entry.lastActionTick + parkAfterTicks;
+    }
+    return entry.lastActionTick + idleTtlTicks;
+  }
+
+  private void file(Entry entry, long tick) {
+    wheel[(int) (tick & slotMask)].add(entry);
+  }
+
+  private void tick() {
+    long now = currentTick + 1;
+    currentTick = now;
+    Queue<Entry> slot = wheel[(int) (now & slotMask)];
+    // Only what was filed before this tick; entries filed back into this slot wait for its next turn
+    for (int pending = slot.size(); pending > 0; pending--) {
+      Entry entry = slot.poll();
+      if (entry == null) break;
+      if (entry.removed) continue;
+      long deadline = entry.deadlineTick;
+      if (deadline > now) {
+        file(entry, deadline);
+      } else {
+        expire(entry);
+      }
+    }
+  }
+
+  private void expire(Entry entry) {
+    // Evict from the game's mailbox, so no command is half-way through it; one may have touched it since the tick
+    commandExecutor.submit(entry.lobbyId, () -> {
+      if (entry.removed) return null;
+      long deadline = deadlineFor(entry);
+      if (deadline > currentTick) {
+        entry.deadlineTick = deadline;
+        file(entry, deadline);
+        return null;
+      }
+      if (entry.game != null && !entry.finished && parkAfterTicks > 0 && parkAfterTicks < idleTtlTicks) {
+        park(entry);
+      } else {
+        evict(entry);
+      }
+      return null;
+    });
+  }
+
+  private void park(Entry entry) {
+    GameState game = entry.game;
+    parkedGames.park(game); // stored before it leaves the registry, so a lookup in between still finds it
+    if (!gameRegistry.remove(entry.lobbyId, game)) {
+      parkedGames.discard(entry.lobbyId);
+      entry.removed = true;
+      entries.remove(entry.lobbyId, entry);
+      return;
+    }
+    jsonCache.evict(entry.lobbyId);
+    entry.game = null;
+    entry.deadlineTick = deadlineFor(entry);
+    file(entry, entry.deadlineTick);
+    parked.incrementAndGet();
+    log.debug("Parked idle game: lobbyId={}, gameId={}", entry.lobbyId, entry.gameId);
+  }
+
+  private void evict(Entry entry) {
+    GameState game = entry.game;
+    entry.removed = true;
+    entries.remove(entry.lobbyId, entry);
+    boolean removed = game != null ? gameRegistry.remove(entry.lobbyId, game) : parkedGames.discard(entry.lobbyId);
+    if (!removed) return;
+
+    jsonCache.evict(entry.lobbyId);
+    commandExecutor.remove(entry.lobbyId);
+    if (entry.gameId != null) {
+      seqAllocator.release(UUID.fromString(entry.gameId));
+      if (entry.finished) {
+        snapshots.forget(entry.gameId);
+      } else {
+        snapshots.abandon(entry.gameId); // its games row stays ACTIVE, so recovery would restore it otherwise
+      }
+    }
+    (entry.finished ? evictedFinished : evictedIdle).incrementAndGet();
+    log.debug("Evicted {} game: lobbyId={}, gameId={}", entry.finished ? "finished" : "idle", entry.lobbyId, entry.gameId);
+  }
+
+  private static final class Entry {
+    private final String lobbyId;
+    private final String gameId;
+    private volatile GameState game; // null while parked
+    private volatile long lastActionTick;
+    private volatile boolean finished;
+    private volatile long deadlineTick;
+    private volatile boolean removed;
+
+    private Entry(GameState game) {
+      this.lobbyId = game.getLobbyId();
+      this.gameId = game.getGameId();
+      this.game = game;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.kitten.game.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kitten.game.entity.Game;
+import com.kitten.game.entity.GameParticipant;
+import com.kitten.game.repository.GameParticipantRepository;
+import com.kitten.game.repository.GameRepository;
+
+/**
+ * Writes the games and game_participants rows at game start and finish, each as one transaction.
+ * Kept in its own bean so callers go through the transaction proxy; GameService runs these off the
+ * command thread.
+ */
+@Service
+public class GamePersistenceService {
+
+  private final GameRepository gameRepository;
+  private final GameParticipantRepository gameParticipantRepository;
+
+  public GamePersistenceService(GameRepository gameRepository, GameParticipantRepository gameParticipantRepository) {
+    this.gameRepository = gameRepository;
+    this.gameParticipantRepository = gameParticipantRepository;
+  }
+
+  /** Inserts the game and all its participants; with hibernate.jdbc.batch_size the participants go in one batch. */
+  @Transactional
+  public void saveGameStart(UUID gameId, String lobbyId, List<String> playerIds, long seed, String ruleVersion) {
+    Game game = new Game(gameId, lobbyId);
+    game.setSeed(seed);
+    game.setRuleVersion(ruleVersion);
+    gameRepository.save(game);
+    List<GameParticipant> participants = new ArrayList<>(playerIds.size());
+    for (int i = 0; i < playerIds.size(); i++) {
+      participants.add(new GameParticipant(gameId, playerIds.get(i), i));
+    }
+    gameParticipantRepository.saveAll(participants);
+  }
+
+  /** Marks the game finished and sets every participant's result: two UPDATE statements, no reads. */
+  @Transactional
+  public void saveGameFinished(UUID gameId, String winnerPlayerId, List<String> eliminatedPlayerIds) {
+    int updated = gameRepository.markFinished(gameId, winnerPlayerId, Instant.now(), Game.GameStatus.FINISHED);
+    if (updated == 0) return; // unknown or already finished
+    // "IN ()" is not valid SQL, so never bind an empty list
+    List<String> eliminated = eliminatedPlayerIds == null || eliminatedPlayerIds.isEmpty()
+        ? List.of("") : eliminatedPlayerIds;
+    gameParticipantRepository.updateResults(gameId, winnerPlayerId, eliminated);
+  }
+}
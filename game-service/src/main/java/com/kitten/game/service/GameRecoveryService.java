@@ -0,0 +1,152 @@
+package com.kitten.game.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.kitten.game.config.GameNodeRing;
+import com.kitten.game.entity.Game;
+import com.kitten.game.entity.GameSnapshot;
+import com.kitten.game.model.GameState;
+import com.kitten.game.repository.GameSnapshotRepository;
+import com.kitten.game.util.GameStateCodec;
+
+/**
+ * Rebuilds the games that were live when the service last stopped, before it starts taking requests.
+ * Every ACTIVE game with a snapshot taken in the last {@code game.recovery.max-age-minutes} is decoded, the
+ * game_actions logged after the snapshot are streamed by {@link GameActionReader} and re-applied with
+ * {@link GameCommandService#replay}, and the game is
+ * registered again; games are rebuilt in parallel on {@code game.recovery.threads} threads.
+ * A game that the replay finishes is marked finished instead of registered. With a {@link GameNodeRing}, each node
+ * only recovers the lobbies it owns.
+ */
+@Component
+public class GameRecoveryService implements SmartInitializingSingleton {
+
+  private static final Logger log = LoggerFactory.getLogger(GameRecoveryService.class);
+
+  private final GameSnapshotRepository gameSnapshotRepository;
+  private final GameActionReader actionReader;
+  private final GameRegistry gameRegistry;
+  private final GameCommandService gameCommandService;
+  private final GamePersistenceService gamePersistenceService;
+  private final GameSnapshotService snapshots;
+  private final ActionSeqAllocator seqAllocator;
+  private final GameLifecycleManager lifecycle;
+  private final GameNodeRing gameNodeRing;
+  private final boolean enabled;
+  private final int threads; // 0 = one per core
+  private final long maxAgeMinutes;
+
+  public GameRecoveryService(GameSnapshotRepository gameSnapshotRepository, GameActionReader actionReader,
+                             GameRegistry gameRegistry, GameCommandService gameCommandService,
+                             GamePersistenceService gamePersistenceService, GameSnapshotService snapshots,
+                             ActionSeqAllocator seqAllocator, GameLifecycleManager lifecycle,
+                             GameNodeRing gameNodeRing,
+                             @Value("${game.recovery.enabled:true}") boolean enabled,
+                             @Value("${game.recovery.threads:0}") int threads,
+                             @Value("${game.recovery.max-age-minutes:360}") long maxAgeMinutes) {
+    this.gameSnapshotRepository = gameSnapshotRepository;
+    this.actionReader = actionReader;
+    this.gameRegistry = gameRegistry;
+    this.gameCommandService = gameCommandService;
+    this.gamePersistenceService = gamePersistenceService;
+    this.snapshots = snapshots;
+    this.seqAllocator = seqAllocator;
+    this.lifecycle = lifecycle;
+    this.gameNodeRing = gameNodeRing;
+    this.enabled = enabled;
+    this.threads = threads;
+    this.maxAgeMinutes = maxAgeMinutes;
+  }
+
+  /** Runs once all beans exist and before the web server starts, so no request sees a half-recovered registry. */
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (!enabled) return;
+    List<GameSnapshot> recoverable;
+    try {
+      Instant since = Instant.now().minus(Duration.ofMinutes(maxAgeMinutes));
+      recoverable = new ArrayList<>();
+      for (GameSnapshot snapshot : gameSnapshotRepository.findRecoverable(since, Game.GameStatus.ACTIVE)) {
+        if (gameNodeRing.owns(snapshot.getLobbyId())) recoverable.add(snapshot); // the other nodes recover the rest
+      }
+    } catch (DataAccessException e) {
+      log.warn("Skipping game recovery, snapshots could not be read: {}", e.getMessage());
+      return;
+    }
+    if (recoverable.isEmpty()) return;
+
+    long start = System.nanoTime();
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(Math.min(poolSize, recoverable.size()),
+        task -> new Thread(task, "game-recovery-" + threadCount.incrementAndGet()));
+    int registered = 0;
+    int failed = 0;
+    try {
+      List<Future<Boolean>> results = new ArrayList<>(recoverable.size());
+      for (GameSnapshot snapshot : recoverable) {
+        results.add(pool.submit(() -> recover(snapshot)));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        try {
+          if (results.get(i).get()) registered++;
+        } catch (ExecutionException e) {
+          failed++;
+          log.warn("Failed to recover game: gameId={}, error={}", recoverable.get(i).getGameId(), e.getCause().getMessage(), e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      pool.shutdownNow();
+    }
+    log.info("Recovered {} of {} games from snapshots in {} ms ({} failed)", registered, recoverable.size(),
+        Duration.ofNanos(System.nanoTime() - start).toMillis(), failed);
+  }
+
+  /** @return true if the game was registered, false if it had finished or its lobby already has a game */
+  private boolean recover(GameSnapshot snapshot) throws Exception {
+    UUID gameId = snapshot.getGameId();
+    GameState game = GameStateCodec.decode(snapshot.getData()); // no gameId yet, so the replay logs nothing
+    int lastSeq = actionReader.forEach(gameId, snapshot.getLastSeq(), Integer.MAX_VALUE,
+        action -> gameCommandService.replay(game, action));
+    game.setGameId(gameId.toString());
+
+    if (game.getPlayers().size() <= 1) {
+      // Finished after its last snapshot, but the finish was never written
+      String winnerId = game.getPlayers().size() == 1 ? game.getPlayers().get(0).getPlayerId() : null;
+      gamePersistenceService.saveGameFinished(gameId, winnerId, game.getEliminatedPlayers());
+      return false;
+    }
+
+    seqAllocator.resume(gameId, lastSeq);
+    if (lastSeq == snapshot.getLastSeq()) {
+      snapshots.track(game);
+    } else {
+      snapshots.take(game); // so the next recovery does not replay the same actions again
+    }
+    if (gameRegistry.getOrCreate(game.getLobbyId(), id -> game) != game) {
+      seqAllocator.release(gameId);
+      snapshots.forget(game.getGameId());
+      return false;
+    }
+    lifecycle.register(game); // the idle clock restarts, recovered games are not charged for the downtime
+    return true;
+  }
+}
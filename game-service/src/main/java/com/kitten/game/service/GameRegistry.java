@@ -0,0 +1,90 @@
+package com.kitten.game.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.kitten.game.model.GameState;
+
+/**
+ * Concurrent registry of live games keyed by lobbyId.
+ * Lookups are lock-free. Creating a game takes a lock striped by lobbyId, so two concurrent
+ * starts for the same lobby build the game once while starts for different lobbies run in parallel.
+ */
+@Component
+public class GameRegistry {
+
+  private final Map<String, GameState> games = new ConcurrentHashMap<>(1024);
+  private final ReentrantLock[] stripes;
+  private final int stripeMask;
+
+  public GameRegistry() {
+    // Power of two so the stripe can be picked with a mask; enough stripes that busy lobbies rarely share one
+    int target = Math.max(64, Runtime.getRuntime().availableProcessors() * 8);
+    int size = Integer.highestOneBit(target - 1) << 1;
+    this.stripes = new ReentrantLock[size];
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+    this.stripeMask = size - 1;
+  }
+
+  public GameState get(String lobbyId) {
+    return games.get(lobbyId);
+  }
+
+  /**
+   * Returns the game for the lobby, creating it with the factory if absent.
+   * The factory may be slow (it persists the game), so it runs under the lobby's stripe lock
+   * rather than inside ConcurrentHashMap.computeIfAbsent, which would block unrelated keys in the same bin.
+   * If the factory returns null nothing is registered and null is returned.
+   */
+  public GameState getOrCreate(String lobbyId, Function<String, GameState> factory) {
+    GameState existing = games.get(lobbyId);
+    if (existing != null) return existing;
+
+    ReentrantLock lock = stripeFor(lobbyId);
+    lock.lock();
+    try {
+      existing = games.get(lobbyId);
+      if (existing != null) return existing;
+      GameState created = factory.apply(lobbyId);
+      if (created != null) games.put(lobbyId, created);
+      return created;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public GameState remove(String lobbyId) {
+    return games.remove(lobbyId);
+  }
+
+  /** Removes the lobby's game only if it is still this one, so a newer game for the lobby is left alone. */
+  public boolean remove(String lobbyId, GameState game) {
+    return games.remove(lobbyId, game);
+  }
+
+  public boolean contains(String lobbyId) {
+    return games.containsKey(lobbyId);
+  }
+
+  public int size() {
+    return games.size();
+  }
+
+  /** Weakly consistent view of live games; safe to iterate while games are added or removed. */
+  public Collection<GameState> games() {
+    return games.values();
+  }
+
+  private ReentrantLock stripeFor(String lobbyId) {
+    int h = lobbyId.hashCode();
+    h ^= (h >>> 16);
+    return stripes[h & stripeMask];
+  }
+}
@@ -0,0 +1,134 @@
+package com.kitten.game.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitten.game.entity.Game;
+import com.kitten.game.entity.GameAction;
+import com.kitten.game.entity.GameParticipant;
+import com.kitten.game.model.GameState;
+import com.kitten.game.model.PlayerState;
+import com.kitten.game.repository.GameParticipantRepository;
+import com.kitten.game.repository.GameRepository;
+
+/**
+ * Rebuilds a finished game as it stood after a given action. Games still being played are refused, since the
+ * rebuilt state shows every hand and the deck order. At most {@code game.replay.max-concurrent} rebuilds run
+ * at once; they stream a whole action log on the calling request thread. The opening state comes from
+ * the game's seed and seat order ({@link GameService#newGame}); each logged command is then re-applied with
+ * {@link GameCommandService#replay}, the same code the live game ran, while the log is streamed by
+ * {@link GameActionReader}. Only games logged under the current {@link GameService#RULE_VERSION} can be rebuilt.
+ */
+@Service
+public class GameReplayService {
+
+  private final GameRepository gameRepository;
+  private final GameParticipantRepository gameParticipantRepository;
+  private final GameActionReader actionReader;
+  private final GameService gameService;
+  private final GameCommandService gameCommandService;
+  private final ObjectMapper objectMapper;
+  private final Semaphore rebuildSlots;
+
+  public GameReplayService(GameRepository gameRepository, GameParticipantRepository gameParticipantRepository,
+                           GameActionReader actionReader, GameService gameService,
+                           GameCommandService gameCommandService, ObjectMapper objectMapper,
+                           @Value("${game.replay.max-concurrent:4}") int maxConcurrent) {
+    this.gameRepository = gameRepository;
+    this.gameParticipantRepository = gameParticipantRepository;
+    this.actionReader = actionReader;
+    this.gameService = gameService;
+    this.gameCommandService = gameCommandService;
+    this.objectMapper = objectMapper;
+    this.rebuildSlots = new Semaphore(Math.max(1, maxConcurrent));
+  }
+
+  /**
+   * @param untilSeq last action to apply; Integer.MAX_VALUE for the whole log
+   * @return the rebuilt game, or null if there is no such game
+   * @throws IllegalStateException if the game is not finished, has no seed, was logged under other rules or its
+   *     action log has a hole
+   * @throws RejectedExecutionException if max-concurrent rebuilds are already running
+   */
+  public GameState rebuild(UUID gameId, int untilSeq) {
+    if (!rebuildSlots.tryAcquire()) {
+      throw new RejectedExecutionException("Too many game replays in progress");
+    }
+    try {
+      return rebuildFinished(gameId, untilSeq);
+    } finally {
+      rebuildSlots.release();
+    }
+  }
+
+  private GameState rebuildFinished(UUID gameId, int untilSeq) {
+    Game record = gameRepository.findById(gameId).orElse(null);
+    if (record == null) return null;
+    if (record.getStatus() != Game.GameStatus.FINISHED) {
+      throw new IllegalStateException("Game " + gameId + " is still in progress");
+    }
+    if (record.getSeed() == null || !GameService.RULE_VERSION.equals(record.getRuleVersion())) {
+      throw new IllegalStateException("Game " + gameId + " cannot be replayed (rule version " + record.getRuleVersion() + ")");
+    }
+    List<GameParticipant> participants = gameParticipantRepository.findByGameIdOrderBySeatIndex(gameId);
+    List<String> playerIds = new ArrayList<>(participants.size());
+    for (GameParticipant participant : participants) {
+      playerIds.add(participant.getPlayerId());
+    }
+
+    Replay replay = start(record.getLobbyId(), playerIds, record.getSeed());
+    actionReader.forEach(gameId, 0, untilSeq, replay::apply);
+    GameState game = replay.getGame();
+    game.setGameId(gameId.toString());
+    return game;
+  }
+
+  /** A game at its opening state, ready to have its actions applied in seq order. */
+  public Replay start(String lobbyId, List<String> playerIds, long seed) {
+    return new Replay(gameService.newGame(lobbyId, playerIds, List.of(), seed));
+  }
+
+  /** One game being rebuilt. Not thread-safe; apply actions from one thread. */
+  public final class Replay {
+    private final GameState game;
+
+    private Replay(GameState game) {
+      this.game = game;
+    }
+
+    public void apply(GameAction action) {
+      if ("GAME_START".equals(action.getActionType())) {
+        applyPlayerNames(action);
+      } else {
+        gameCommandService.replay(game, action);
+      }
+    }
+
+    public GameState getGame() {
+      return game;
+    }
+
+    private void applyPlayerNames(GameAction action) {
+      if (action.getPayload() == null) return;
+      JsonNode names;
+      try {
+        names = objectMapper.readTree(action.getPayload()).get("playerNames");
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Unreadable GAME_START payload", e);
+      }
+      List<PlayerState> players = game.getPlayers();
+      for (int i = 0; names != null && i < names.size() && i < players.size(); i++) {
+        if (!names.get(i).isNull()) players.get(i).setPlayerName(names.get(i).asText());
+      }
+    }
+  }
+}
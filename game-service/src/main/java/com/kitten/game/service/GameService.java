@@ -1,189 +1,217 @@
 package com.kitten.game.service;
 
+import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.kitten.game.entity.Game;
-import com.kitten.game.entity.GameParticipant;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.kitten.game.model.CardType;
+import com.kitten.game.model.Deck;
+import com.kitten.game.model.GameRandom;
 import com.kitten.game.model.GameState;
+import com.kitten.game.model.Hand;
 import com.kitten.game.model.PlayerState;
-import com.kitten.game.repository.GameParticipantRepository;
-import com.kitten.game.repository.GameRepository;
 
 @Service
 public class GameService {
 
-  private final Map<String, GameState> gameStore = new HashMap<>();
-  private final GameRepository gameRepository;
-  private final GameParticipantRepository gameParticipantRepository;
+  /** Stored with each game so a replay can tell which rules produced its action log. */
+  public static final String RULE_VERSION = "2"; // 2: one replayable action row per state-changing command
+
+  private static final Logger log = LoggerFactory.getLogger(GameService.class);
+
+  private static final SecureRandom SEED_SOURCE = new SecureRandom();
+
+  private final GameRegistry gameRegistry;
+  private final GamePersistenceService gamePersistenceService;
   private final GameActionService gameActionService;
+  private final ActionSeqAllocator seqAllocator;
+  private final GameSnapshotService snapshots;
+  private final GameLifecycleManager lifecycle;
+  private final ParkedGameStore parkedGames;
+  // One thread so a game's start row is always written before its finish update
+  private final ExecutorService persistenceExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "game-persistence"));
 
-  public GameService(GameRepository gameRepository, GameParticipantRepository gameParticipantRepository, GameActionService gameActionService) {
-    this.gameRepository = gameRepository;
-    this.gameParticipantRepository = gameParticipantRepository;
+  public GameService(GameRegistry gameRegistry, GamePersistenceService gamePersistenceService,
+                     GameActionService gameActionService, ActionSeqAllocator seqAllocator,
+                     GameSnapshotService snapshots, GameLifecycleManager lifecycle,
+                     ParkedGameStore parkedGames) {
+    this.gameRegistry = gameRegistry;
+    this.gamePersistenceService = gamePersistenceService;
     this.gameActionService = gameActionService;
+    this.seqAllocator = seqAllocator;
+    this.snapshots = snapshots;
+    this.lifecycle = lifecycle;
+    this.parkedGames = parkedGames;
   }
-  
-  /**
-   * Finds the next valid player index, skipping eliminated players
-   */
-  private int findNextValidPlayerIndex(GameState game, int currentIndex) {
-    if (game.getPlayers().isEmpty()) {
-      return -1; // No players left
-    }
-    
-    // Since eliminated players are removed from the list, we just need to go to the next index
-    // If we're at the end, wrap around to the beginning
-    int nextIndex = (currentIndex + 1) % game.getPlayers().size();
-    return nextIndex;
+
+  /** @return the lobby's game, or null if it has none and this node is already at its cap of active games */
+  public GameState startGame(String lobbyId, List<String> playerIds, List<String> playerNames) {
+    return gameRegistry.getOrCreate(lobbyId, id -> {
+      GameState parked = unpark(id);
+      return parked != null ? parked : createGame(id, playerIds, playerNames);
+    });
   }
-  
+
+  private GameState createGame(String lobbyId, List<String> playerIds, List<String> playerNames) {
+    if (!lifecycle.admit()) return null;
+
+    // Every random choice in the game comes from this seed, so the game can be replayed exactly
+    long seed = SEED_SOURCE.nextLong();
+    GameState game = newGame(lobbyId, playerIds, playerNames, seed);
+
+    // The id is ours to pick, so the game can run (and log actions) before its rows are written
+    UUID gameId = UUID.randomUUID();
+    game.setGameId(gameId.toString());
+    seqAllocator.start(gameId); // new game: its log is empty, no MAX(seq) lookup needed
+    gameActionService.recordActionWithPlayerIds(game.getGameId(), null, null, null, "GAME_START", startPayload(game));
+    persistGameStart(gameId, lobbyId, playerIds, seed);
+    snapshots.take(game); // recoverable from the start, before its first command
+    lifecycle.register(game);
+
+    return game;
+  }
+
   /**
-   * Finds the first valid player index
+   * The opening state of a game: deck, hands and turn order are a function of the seed and seat order alone,
+   * which is what lets {@link GameReplayService} rebuild a game from its stored seed. Not registered or persisted.
    */
-  private int findFirstValidPlayerIndex(GameState game) {
-    if (game.getPlayers().isEmpty()) {
-      return -1;
-    }
-    return 0; // Since eliminated players are removed from the list, index 0 should be valid
-  }
-  
-  public GameState startGame(String lobbyId, List<String> playerIds, List<String> playerNames) {
-    if (gameStore.containsKey(lobbyId)) {
-      return gameStore.get(lobbyId);
-    }
+  public GameState newGame(String lobbyId, List<String> playerIds, List<String> playerNames, long seed) {
+    Deck deck = new Deck();
+    deck.addBottom(CardType.DEFUSE, 3);
+    deck.addBottom(CardType.ATTACK, 3);
+    deck.addBottom(CardType.TARGETED_ATTACK, 3);
+    deck.addBottom(CardType.SKIP, 6);
+    deck.addBottom(CardType.SEE_THE_FUTURE, 3);
+    deck.addBottom(CardType.ALTER_THE_FUTURE, 4);
+    deck.addBottom(CardType.SHUFFLE, 4);
+    deck.addBottom(CardType.DRAW_FROM_BOTTOM, 4);
+    deck.addBottom(CardType.FAVOR, 4);
+    // deck.addBottom(CardType.NOPE, 5);
+    deck.addBottom(CardType.CAT_TACO, 4);
+    deck.addBottom(CardType.CAT_WATERMELON, 4);
+    deck.addBottom(CardType.CAT_POTATO, 4);
+    deck.addBottom(CardType.CAT_BEARD, 4);
+    deck.addBottom(CardType.CAT_RAINBOW, 4);
+    deck.addBottom(CardType.CAT_FERAL, 4);
 
-    List<CardType> deck = new ArrayList<>();
-    deck.addAll(Collections.nCopies(3, CardType.DEFUSE));
-    deck.addAll(Collections.nCopies(3, CardType.ATTACK));
-    deck.addAll(Collections.nCopies(3, CardType.TARGETED_ATTACK));
-    deck.addAll(Collections.nCopies(6, CardType.SKIP));
-    deck.addAll(Collections.nCopies(3, CardType.SEE_THE_FUTURE));
-    deck.addAll(Collections.nCopies(4, CardType.ALTER_THE_FUTURE));
-    deck.addAll(Collections.nCopies(4, CardType.SHUFFLE));
-    deck.addAll(Collections.nCopies(4, CardType.DRAW_FROM_BOTTOM));
-    deck.addAll(Collections.nCopies(4, CardType.FAVOR));
-    // deck.addAll(Collections.nCopies(5, CardType.NOPE));
-    deck.addAll(Collections.nCopies(4, CardType.CAT_TACO));
-    deck.addAll(Collections.nCopies(4, CardType.CAT_WATERMELON));
-    deck.addAll(Collections.nCopies(4, CardType.CAT_POTATO));
-    deck.addAll(Collections.nCopies(4, CardType.CAT_BEARD));
-    deck.addAll(Collections.nCopies(4, CardType.CAT_RAINBOW));
-    deck.addAll(Collections.nCopies(4, CardType.CAT_FERAL));
-
-    Collections.shuffle(deck);
+    GameRandom random = new GameRandom(seed);
+    deck.shuffle(random);
 
     List<PlayerState> players = new ArrayList<>();
     for (int i = 0; i < playerIds.size(); i++) {
       String playerId = playerIds.get(i);
       String playerName = i < playerNames.size() ? playerNames.get(i) : "Player " + playerId;
       
-      List<CardType> hand = new ArrayList<>();
+      Hand hand = new Hand();
       hand.add(CardType.DEFUSE);
       for (int j = 0; j < 7; j++) {
-        hand.add(deck.remove(0));
+        hand.add(deck.drawTop());
       }
       players.add(new PlayerState(playerId, playerName, hand));
     }
 
-    deck.addAll(Collections.nCopies(3, CardType.EXPLODING_KITTEN));
-    Collections.shuffle(deck);
-    Collections.shuffle(deck);
-    Collections.shuffle(deck);
+    deck.addBottom(CardType.EXPLODING_KITTEN, 3);
+    deck.shuffle(random);
 
     GameState game = new GameState();
     game.setLobbyId(lobbyId);
     game.setPlayers(players);
+    game.setSeats(new ArrayList<>(playerIds));
     game.setDeck(deck);
     game.setCardsToDraw(1);
     game.setGameStarted(true);
     game.setCurrentPlayerIndex(0);
-
-    // Persist game and participants
-    UUID gameId = persistGameStart(lobbyId, playerIds);
-    game.setGameId(gameId != null ? gameId.toString() : null);
-
-    gameStore.put(lobbyId, game);
+    game.setRandom(random);
     return game;
   }
 
-  @Transactional
-  protected UUID persistGameStart(String lobbyId, List<String> playerIds) {
-    try {
-      UUID gameId = UUID.randomUUID();
-      Game gameEntity = new Game(gameId, lobbyId);
-      gameRepository.save(gameEntity);
-      for (int i = 0; i < playerIds.size(); i++) {
-        String playerId = playerIds.get(i);
-        gameParticipantRepository.save(new GameParticipant(gameId, playerId, i));
+  /** GAME_START payload: the display names in seat order, which are not stored anywhere else. */
+  private static String startPayload(GameState game) {
+    StringBuilder json = new StringBuilder("{\"playerNames\":[");
+    List<PlayerState> players = game.getPlayers();
+    for (int i = 0; i < players.size(); i++) {
+      if (i > 0) json.append(',');
+      String name = players.get(i).getPlayerName();
+      if (name == null) {
+        json.append("null");
+      } else {
+        json.append('"').append(JsonStringEncoder.getInstance().quoteAsString(name)).append('"');
       }
-      return gameId;
-    } catch (Exception e) {
-      // Don't fail in-memory game if DB fails (e.g. game-service run without DB)
-      org.slf4j.LoggerFactory.getLogger(GameService.class).warn("Failed to persist game start: {}", e.getMessage(), e);
-      return null;
     }
+    return json.append("]}").toString();
   }
 
-  @Transactional
-  protected void persistGameFinished(String gameIdStr, String winnerPlayerId, List<String> eliminatedPlayerIds) {
+  private void persistGameStart(UUID gameId, String lobbyId, List<String> playerIds, long seed) {
+    List<String> seats = new ArrayList<>(playerIds);
+    persistenceExecutor.execute(() -> {
+      try {
+        gamePersistenceService.saveGameStart(gameId, lobbyId, seats, seed, RULE_VERSION);
+      } catch (Exception e) {
+        // Don't fail in-memory game if DB fails (e.g. game-service run without DB)
+        log.warn("Failed to persist game start: gameId={}, error={}", gameId, e.getMessage(), e);
+      }
+    });
+  }
+
+  private void persistGameFinished(String gameIdStr, String winnerPlayerId, List<String> eliminatedPlayerIds) {
     if (gameIdStr == null) return;
-    try {
-      UUID gameId = UUID.fromString(gameIdStr);
-      Game game = gameRepository.findById(gameId).orElse(null);
-      if (game == null || game.getStatus() == Game.GameStatus.FINISHED) return;
-      game.setStatus(Game.GameStatus.FINISHED);
-      game.setEndedAt(java.time.Instant.now());
-      game.setWinnerPlayerId(winnerPlayerId);
-      gameRepository.save(game);
-      List<GameParticipant> participants = gameParticipantRepository.findByGameIdOrderBySeatIndex(gameId);
-      for (GameParticipant p : participants) {
-        if (winnerPlayerId != null && winnerPlayerId.equals(p.getPlayerId())) {
-          p.setResult("WIN");
-        } else if (eliminatedPlayerIds != null && eliminatedPlayerIds.contains(p.getPlayerId())) {
-          p.setResult("ELIMINATED");
-        } else {
-          p.setResult("LOSS");
-        }
-        gameParticipantRepository.save(p);
+    UUID gameId = UUID.fromString(gameIdStr);
+    List<String> eliminated = new ArrayList<>(eliminatedPlayerIds);
+    persistenceExecutor.execute(() -> {
+      try {
+        gamePersistenceService.saveGameFinished(gameId, winnerPlayerId, eliminated);
+      } catch (Exception e) {
+        // Log but don't fail game flow
+        log.warn("Failed to persist game finish: gameId={}, error={}", gameId, e.getMessage(), e);
       }
-    } catch (Exception e) {
-      // Log but don't fail game flow
+    });
+  }
+
+  /** Lets queued start/finish writes complete before the datasource goes away. */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    persistenceExecutor.shutdown();
+    if (!persistenceExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+      log.warn("Game persistence did not finish within 10s");
     }
   }
 
+  /** The lobby's live game; a game that was parked for being idle is brought back first. */
   public GameState getGame(String lobbyId) {
-    return gameStore.get(lobbyId);
+    GameState game = gameRegistry.get(lobbyId);
+    if (game != null || !parkedGames.contains(lobbyId)) return game;
+    return gameRegistry.getOrCreate(lobbyId, this::unpark);
+  }
+
+  private GameState unpark(String lobbyId) {
+    GameState game = parkedGames.unpark(lobbyId);
+    if (game != null) lifecycle.registerUnparked(game);
+    return game;
   }
 
   /**
-   * Checks if the game is over and returns the winner if applicable
+   * Checks if the game is over and returns the winner if applicable. Reads the game's immutable player id snapshot,
+   * so it never races a command that is eliminating a player; a parked game is brought back first.
    * @return winner player ID if game is over, null otherwise
    */
   public String getGameWinner(String lobbyId) {
-    GameState game = gameStore.get(lobbyId);
+    GameState game = getGame(lobbyId);
     if (game == null) return null;
-    
+
     // Game is over if only one player remains
-    if (game.getPlayers().size() == 1) {
-      return game.getPlayers().get(0).getPlayerId();
-    }
-    
-    // Game is over if no players remain (shouldn't happen in normal gameplay)
-    if (game.getPlayers().isEmpty()) {
-      return null;
-    }
-    
-    return null; // Game is still ongoing
+    List<String> playerIds = game.getPlayerIdsSnapshot();
+    return playerIds.size() == 1 ? playerIds.get(0) : null;
   }
 
   public boolean handleDrawnCard(CardType drawnCard, PlayerState player, GameState game) {
@@ -192,13 +220,13 @@ public class GameService {
 
       if (player.getHand().remove(CardType.DEFUSE)) {
         game.getUsedCards().add(CardType.DEFUSE);
-        int pos = new Random().nextInt(game.getDeck().size() + 1);
-        game.getDeck().add(pos, CardType.EXPLODING_KITTEN);
+        int pos = game.getRandom().nextInt(game.getDeck().size() + 1);
+        game.getDeck().insert(pos, CardType.EXPLODING_KITTEN);
         game.setCardsToDraw(0);
         
         // After using Defuse, turn should pass to the next player
         int currentIndex = game.getCurrentPlayerIndex();
-        int nextIndex = findNextValidPlayerIndex(game, currentIndex);
+        int nextIndex = game.nextPlayerIndex(currentIndex);
         game.setCurrentPlayerIndex(nextIndex);
         
         return true;
@@ -207,7 +235,7 @@ public class GameService {
         int eliminatedPlayerIndex = game.getCurrentPlayerIndex();
         String eliminatedPlayerId = player.getPlayerId();
 
-        game.getPlayers().remove(player);
+        game.removePlayer(player);
         game.getEliminatedPlayers().add(eliminatedPlayerId);
         gameActionService.recordActionWithPlayerIds(game.getGameId(), null, eliminatedPlayerId, null, "ELIMINATED", null);
 
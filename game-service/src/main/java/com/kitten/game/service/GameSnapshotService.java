@@ -0,0 +1,194 @@
+package com.kitten.game.service;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.kitten.game.entity.GameSnapshot;
+import com.kitten.game.model.GameState;
+import com.kitten.game.util.GameStateCodec;
+
+/**
+ * Keeps a binary snapshot of every live game in game_snapshots for {@link GameRecoveryService}.
+ * A game is snapshotted when it is created, after every {@code game.snapshots.every-commands} state-changing
+ * commands, and every {@code game.snapshots.interval-ms} if it changed since its last snapshot.
+ * Snapshots are encoded in the game's mailbox, so they never see a half-applied command, and upserted by a
+ * background thread; if a game is snapshotted again before its last snapshot was written, only the newer one is.
+ * A snapshot is only upserted once {@link GameActionWriter} has written the actions up to its last_seq, since
+ * recovery replays the log from there; until then its write is retried every {@value #WAIT_FOR_ACTIONS_MS} ms.
+ */
+@Component
+public class GameSnapshotService {
+
+  private static final Logger log = LoggerFactory.getLogger(GameSnapshotService.class);
+
+  private static final String UPSERT_SQL = "INSERT INTO game_snapshots (game_id, lobby_id, version, last_seq, data, taken_at) "
+      + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (game_id) DO UPDATE SET lobby_id = EXCLUDED.lobby_id, "
+      + "version = EXCLUDED.version, last_seq = EXCLUDED.last_seq, data = EXCLUDED.data, taken_at = EXCLUDED.taken_at "
+      + "WHERE game_snapshots.version <= EXCLUDED.version";
+
+  private static final String DELETE_SQL = "DELETE FROM game_snapshots WHERE game_id = ?";
+
+  private static final long WAIT_FOR_ACTIONS_MS = 20;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final GameActionWriter actionWriter;
+  private final GameRegistry gameRegistry;
+  private final GameCommandExecutor commandExecutor;
+  private final ActionSeqAllocator seqAllocator;
+  private final int everyCommands;
+  private final long intervalMs;
+  private final Map<String, Progress> progressByGame = new ConcurrentHashMap<>();
+  private final Map<UUID, GameSnapshot> pending = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> new Thread(task, "game-snapshots"));
+
+  public GameSnapshotService(JdbcTemplate jdbcTemplate, GameActionWriter actionWriter, GameRegistry gameRegistry,
+                             GameCommandExecutor commandExecutor, ActionSeqAllocator seqAllocator,
+                             @Value("${game.snapshots.every-commands:25}") int everyCommands,
+                             @Value("${game.snapshots.interval-ms:30000}") long intervalMs) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.actionWriter = actionWriter;
+    this.gameRegistry = gameRegistry;
+    this.commandExecutor = commandExecutor;
+    this.seqAllocator = seqAllocator;
+    this.everyCommands = everyCommands;
+    this.intervalMs = intervalMs;
+  }
+
+  @PostConstruct
+  public void start() {
+    if (intervalMs > 0) {
+      scheduler.scheduleWithFixedDelay(this::snapshotChangedGames, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /** Snapshots the game now. Call from its mailbox, or before the game is visible to other threads. */
+  public void take(GameState game) {
+    if (game.getGameId() == null) return;
+    UUID gameId = UUID.fromString(game.getGameId());
+    Progress progress = reset(game);
+    GameSnapshot snapshot = new GameSnapshot(gameId, game.getLobbyId(), progress.version,
+        seqAllocator.current(gameId), GameStateCodec.encode(game));
+    if (pending.put(gameId, snapshot) == null) {
+      scheduler.execute(() -> write(gameId));
+    }
+  }
+
+  /** Starts counting commands from the game's current state, e.g. for a game restored from its snapshot. */
+  public void track(GameState game) {
+    reset(game);
+  }
+
+  private Progress reset(GameState game) {
+    Progress progress = progressByGame.computeIfAbsent(game.getGameId(), id -> new Progress());
+    progress.commands = 0;
+    progress.version = game.getVersion();
+    return progress;
+  }
+
+  /** Counts one state-changing command and snapshots every {@code every-commands}. Call from the game's mailbox. */
+  public void afterCommand(GameState game) {
+    if (game.getGameId() == null) return;
+    if (game.getPlayers().size() <= 1) {
+      forget(game.getGameId()); // game over; its row is marked finished, so recovery skips it
+      return;
+    }
+    Progress progress = progressByGame.get(game.getGameId());
+    if (progress == null || (everyCommands > 0 && ++progress.commands >= everyCommands)) {
+      take(game);
+    }
+  }
+
+  /** Stops snapshotting a game that is no longer live on this node. */
+  public void forget(String gameId) {
+    progressByGame.remove(gameId);
+  }
+
+  /**
+   * Forgets a game dropped before it finished and deletes its snapshot, so recovery does not bring it back.
+   * Runs on the writer thread after any write already queued for the game, and drops the ones still pending.
+   */
+  public void abandon(String gameId) {
+    forget(gameId);
+    UUID id = UUID.fromString(gameId);
+    try {
+      scheduler.execute(() -> {
+        pending.remove(id);
+        try {
+          jdbcTemplate.update(DELETE_SQL, id);
+        } catch (DataAccessException e) {
+          log.warn("Failed to delete game snapshot: gameId={}, error={}", id, e.getMessage());
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      log.warn("Game snapshot not deleted at shutdown: gameId={}", id);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    scheduler.shutdown(); // drops the periodic scan, runs the writes already queued
+    if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+      log.warn("Game snapshots did not finish within 10s; {} not written", pending.size());
+    }
+  }
+
+  private void snapshotChangedGames() {
+    for (GameState game : gameRegistry.games()) {
+      Progress progress = game.getGameId() != null ? progressByGame.get(game.getGameId()) : null;
+      if (progress == null || progress.version == game.getVersion()) continue;
+      commandExecutor.submit(game.getLobbyId(), () -> {
+        if (progressByGame.get(game.getGameId()) == progress && progress.version != game.getVersion()) {
+          take(game);
+        }
+        return null;
+      });
+    }
+  }
+
+  private void write(UUID gameId) {
+    GameSnapshot snapshot = pending.remove(gameId);
+    if (snapshot == null) return;
+    if (!actionWriter.isWritten(gameId, snapshot.getLastSeq())) {
+      // Put back unless a newer snapshot arrived meanwhile; that one scheduled its own write
+      if (pending.putIfAbsent(gameId, snapshot) == null) {
+        try {
+          scheduler.schedule(() -> write(gameId), WAIT_FOR_ACTIONS_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+          pending.remove(gameId, snapshot);
+          log.warn("Game snapshot not written, its actions are still queued at shutdown: gameId={}", gameId);
+        }
+      }
+      return;
+    }
+    try {
+      jdbcTemplate.update(UPSERT_SQL, snapshot.getGameId(), snapshot.getLobbyId(), snapshot.getVersion(),
+          snapshot.getLastSeq(), snapshot.getData(), Timestamp.from(snapshot.getTakenAt()));
+    } catch (DataAccessException e) {
+      log.warn("Failed to write game snapshot: gameId={}, error={}", gameId, e.getMessage());
+    }
+  }
+
+  /** Per-game bookkeeping; commands is only touched from the game's mailbox. */
+  private static final class Progress {
+    private int commands;
+    private volatile long version; // version of the last snapshot
+
+    private Progress() {}
+  }
+}
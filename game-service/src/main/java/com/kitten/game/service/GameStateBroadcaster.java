@@ -0,0 +1,148 @@
+package com.kitten.game.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+
+import com.kitten.game.dto.GameStateDelta;
+import com.kitten.game.model.CardType;
+import com.kitten.game.model.GameState;
+import com.kitten.game.model.PlayerState;
+
+/**
+ * Turns each command's effect on a GameState into one versioned delta.
+ * Call {@link #capture} before the command and {@link #publishChanges} after it, from the game's mailbox.
+ * If anything changed, the version is bumped, a {@link GameStateDelta} is published as the "state" event and
+ * each player whose hand changed gets their new hand as a private "hand" event (see {@link GameEventBatcher}).
+ */
+@Component
+public class GameStateBroadcaster {
+
+  private final GameEventBatcher events;
+
+  public GameStateBroadcaster(GameEventBatcher events) {
+    this.events = events;
+  }
+
+  public Snapshot capture(GameState game) {
+    return new Snapshot(game);
+  }
+
+  /** @return true if the game changed since {@code before} (and the version was bumped) */
+  public boolean publishChanges(GameState game, Snapshot before) {
+    List<PlayerState> players = game.getPlayers();
+    String lobbyId = game.getLobbyId();
+
+    Map<String, Object> changed = new HashMap<>();
+    boolean playersChanged = players.size() != before.playerIds.length;
+    if (playersChanged || game.getCurrentPlayerIndex() != before.currentPlayerIndex) {
+      changed.put("currentPlayerIndex", game.getCurrentPlayerIndex());
+      int idx = game.getCurrentPlayerIndex();
+      changed.put("currentPlayerId", idx >= 0 && idx < players.size() ? players.get(idx).getPlayerId() : null);
+    }
+    if (game.getCardsToDraw() != before.cardsToDraw) changed.put("cardsToDraw", game.getCardsToDraw());
+    putIfChanged(changed, "favorFromPlayerId", before.favorFromPlayerId, game.getFavorFromPlayerId());
+    putIfChanged(changed, "targetedAttackTargetId", before.targetedAttackTargetId, game.getTargetedAttackTargetId());
+    putIfChanged(changed, "pendingStealFromPlayerId", before.pendingStealFromPlayerId, game.getPendingStealFromPlayerId());
+    putIfChanged(changed, "catComboType", before.catComboType, game.getCatComboType());
+    if (players.size() == 1 && before.playerIds.length > 1) {
+      changed.put("winnerPlayerId", players.get(0).getPlayerId());
+    }
+
+    Map<String, Integer> handSizes = new HashMap<>();
+    List<PlayerState> handsChanged = new ArrayList<>();
+    for (PlayerState player : players) {
+      int prev = before.indexOf(player.getPlayerId());
+      int size = player.getHand().size();
+      if (prev < 0 || before.handSizes[prev] != size) handSizes.put(player.getPlayerId(), size);
+      if (prev < 0 || before.handSizes[prev] != size || before.handHashes[prev] != player.getHand().hashCode()) {
+        handsChanged.add(player);
+      }
+    }
+
+    int usedCount = game.getUsedCards().size();
+    int eliminatedCount = game.getEliminatedPlayers().size();
+    boolean anyChange = playersChanged || !changed.isEmpty() || !handsChanged.isEmpty()
+        || game.getDeck().size() != before.deckSize
+        || game.getDeck().getModCount() != before.deckModCount
+        || usedCount != before.usedCount
+        || eliminatedCount != before.eliminatedCount
+        || game.getSelectedCatCards().size() != before.selectedCatCount;
+    if (!anyChange) return false;
+
+    long version = game.getVersion() + 1;
+    game.setVersion(version);
+
+    List<CardType> usedAdded = usedCount > before.usedCount
+        ? new ArrayList<>(game.getUsedCards().subList(before.usedCount, usedCount)) : List.of();
+    List<String> eliminated = eliminatedCount > before.eliminatedCount
+        ? new ArrayList<>(game.getEliminatedPlayers().subList(before.eliminatedCount, eliminatedCount)) : List.of();
+    GameStateDelta delta = new GameStateDelta(lobbyId, version, changed, handSizes, game.getDeck().size(), usedAdded, eliminated);
+    events.publish(lobbyId, "state", delta);
+
+    for (PlayerState player : handsChanged) {
+      Map<String, Object> hand = new HashMap<>();
+      hand.put("version", version);
+      hand.put("hand", player.getHand());
+      events.publishTo(lobbyId, player.getPlayerId(), "hand", hand);
+    }
+    return true;
+  }
+
+  private static void putIfChanged(Map<String, Object> changed, String field, Object before, Object after) {
+    if (!Objects.equals(before, after)) changed.put(field, after);
+  }
+
+  /** The parts of a GameState a delta is computed from; cheap to take (a few ints per player). */
+  public static final class Snapshot {
+    private final int currentPlayerIndex;
+    private final int cardsToDraw;
+    private final int deckSize;
+    private final int deckModCount;
+    private final int usedCount;
+    private final int eliminatedCount;
+    private final int selectedCatCount;
+    private final String favorFromPlayerId;
+    private final String targetedAttackTargetId;
+    private final String pendingStealFromPlayerId;
+    private final String catComboType;
+    private final String[] playerIds;
+    private final int[] handSizes;
+    private final int[] handHashes;
+
+    private Snapshot(GameState game) {
+      this.currentPlayerIndex = game.getCurrentPlayerIndex();
+      this.cardsToDraw = game.getCardsToDraw();
+      this.deckSize = game.getDeck().size();
+      this.deckModCount = game.getDeck().getModCount();
+      this.usedCount = game.getUsedCards().size();
+      this.eliminatedCount = game.getEliminatedPlayers().size();
+      this.selectedCatCount = game.getSelectedCatCards().size();
+      this.favorFromPlayerId = game.getFavorFromPlayerId();
+      this.targetedAttackTargetId = game.getTargetedAttackTargetId();
+      this.pendingStealFromPlayerId = game.getPendingStealFromPlayerId();
+      this.catComboType = game.getCatComboType();
+      List<PlayerState> players = game.getPlayers();
+      this.playerIds = new String[players.size()];
+      this.handSizes = new int[players.size()];
+      this.handHashes = new int[players.size()];
+      for (int i = 0; i < players.size(); i++) {
+        PlayerState player = players.get(i);
+        playerIds[i] = player.getPlayerId();
+        handSizes[i] = player.getHand().size();
+        handHashes[i] = player.getHand().hashCode();
+      }
+    }
+
+    private int indexOf(String playerId) {
+      for (int i = 0; i < playerIds.length; i++) {
+        if (playerIds[i].equals(playerId)) return i;
+      }
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.kitten.game.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitten.game.dto.PlayerGameView;
+import com.kitten.game.model.GameState;
+
+/**
+ * Caches each game's serialized JSON for its current version: the full state, and one redacted
+ * {@link PlayerGameView} per seat (plus one shared view for anyone without a seat).
+ * Serialization runs in the game's mailbox so it never sees a half-applied command; every GET for the
+ * same version and viewer after that is a map lookup. All views are dropped the first time a newer version is requested.
+ */
+@Component
+public class GameStateJsonCache {
+
+  private final ObjectMapper objectMapper;
+  private final GameCommandExecutor commandExecutor;
+  private final Map<String, Views> cache = new ConcurrentHashMap<>();
+
+  /** Viewer key of the full, unredacted state. */
+  public static final String FULL = "";
+  private static final String SPECTATOR = "\u0000spectator";
+
+  public GameStateJsonCache(ObjectMapper objectMapper, GameCommandExecutor commandExecutor) {
+    this.objectMapper = objectMapper;
+    this.commandExecutor = commandExecutor;
+  }
+
+  /**
+   * Strong ETag for one viewer's body of a game version; includes the game id so a new game in the same lobby
+   * never matches, and the viewer so a client that switches viewer never gets a 304 for another projection.
+   */
+  public static String etag(GameState game, long version, String viewerKey) {
+    String gameId = game.getGameId() != null ? game.getGameId() : "local";
+    String viewer = viewerKey.equals(FULL) ? "full" : viewerKey.equals(SPECTATOR) ? "spectator" : "seat-" + viewerKey;
+    return "\"" + gameId + "-" + version + "-" + viewer + "\"";
+  }
+
+  /**
+   * Which cached body {@link #view} serves {@code playerId}: their seat's, or the spectator one (also for null).
+   * Reads only the game's player id snapshot, so it is safe outside the mailbox.
+   */
+  public static String viewerKey(GameState game, String playerId) {
+    return playerId != null && game.getPlayerIdsSnapshot().contains(playerId) ? playerId : SPECTATOR;
+  }
+
+  /** @return true if an If-None-Match header value names the given ETag (or is "*") */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isEmpty()) return false;
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) tag = tag.substring(2);
+      if (tag.equals("*") || tag.equals(etag)) return true;
+    }
+    return false;
+  }
+
+  /** The full game state, deck order and all hands included. */
+  public CompletableFuture<Entry> json(GameState game) {
+    return json(game, null, FULL);
+  }
+
+  /** What {@code playerId} is allowed to see; players without a seat (or no player) share one spectator view. */
+  public CompletableFuture<Entry> view(GameState game, String playerId) {
+    String key = viewerKey(game, playerId);
+    return json(game, key.equals(SPECTATOR) ? null : playerId, key);
+  }
+
+  private CompletableFuture<Entry> json(GameState game, String viewerId, String key) {
+    Entry cached = lookup(game, key);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return commandExecutor.submit(game.getLobbyId(), () -> {
+      Entry current = lookup(game, key);
+      if (current != null) return current;
+      Views views = cache.get(game.getLobbyId());
+      if (views == null || views.game != game || views.version != game.getVersion()) {
+        views = new Views(game, game.getVersion());
+        cache.put(game.getLobbyId(), views);
+      }
+      Object body = key.equals(FULL) ? game : PlayerGameView.of(game, viewerId);
+      Entry fresh = new Entry(game, views.version, key, serialize(body, game));
+      views.entries.put(key, fresh);
+      return fresh;
+    });
+  }
+
+  private Entry lookup(GameState game, String key) {
+    Views views = cache.get(game.getLobbyId());
+    if (views == null || views.game != game || views.version != game.getVersion()) return null;
+    return views.entries.get(key);
+  }
+
+  public void evict(String lobbyId) {
+    cache.remove(lobbyId);
+  }
+
+  private byte[] serialize(Object body, GameState game) {
+    try {
+      return objectMapper.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize game " + game.getLobbyId(), e);
+    }
+  }
+
+  /** Everything serialized for one version of one game, keyed by viewer. */
+  private static final class Views {
+    private final GameState game;
+    private final long version;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private Views(GameState game, long version) {
+      this.game = game;
+      this.version = version;
+    }
+  }
+
+  public static final class Entry {
+    private final GameState game;
+    private final long version;
+    private final String viewerKey;
+    private final byte[] json;
+
+    private Entry(GameState game, long version, String viewerKey, byte[] json) {
+      this.game = game;
+      this.version = version;
+      this.viewerKey = viewerKey;
+      this.json = json;
+    }
+
+    public long getVersion() {
+      return version;
+    }
+
+    public byte[] getJson() {
+      return json;
+    }
+
+    public String getEtag() {
+      return etag(game, version, viewerKey);
+    }
+  }
+}
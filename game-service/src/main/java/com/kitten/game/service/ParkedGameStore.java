@@ -0,0 +1,136 @@
+package com.kitten.game.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.stereotype.Component;
+
+import com.kitten.game.model.GameState;
+import com.kitten.game.util.GameStateCodec;
+
+/**
+ * Idle games that {@link GameLifecycleManager} took off the heap, keyed by lobbyId.
+ * Each is kept as its {@link GameStateCodec} encoding, deflated when that is smaller, instead of the live
+ * GameState graph; {@link GameService#getGame} brings one back on its next access.
+ */
+@Component
+public class ParkedGameStore {
+
+  private final Map<String, ParkedGame> parked = new ConcurrentHashMap<>();
+  private final AtomicLong bytes = new AtomicLong();
+
+  /** Stores the game's current state. Call from its mailbox, before it leaves the registry. */
+  public void park(GameState game) {
+    byte[] encoded = GameStateCodec.encode(game);
+    byte[] deflated = deflate(encoded);
+    List<String> seats = game.getSeats() != null
+        ? Collections.unmodifiableList(new ArrayList<>(game.getSeats())) : Collections.<String>emptyList();
+    ParkedGame entry = deflated.length < encoded.length
+        ? new ParkedGame(game.getGameId(), seats, deflated, encoded.length)
+        : new ParkedGame(game.getGameId(), seats, encoded, -1);
+    bytes.addAndGet(entry.data.length);
+    ParkedGame previous = parked.put(game.getLobbyId(), entry);
+    if (previous != null) bytes.addAndGet(-previous.data.length);
+  }
+
+  public boolean contains(String lobbyId) {
+    return parked.containsKey(lobbyId);
+  }
+
+  /** Seat order of the lobby's parked game, without unparking it; null if the lobby has none. */
+  public List<String> seats(String lobbyId) {
+    ParkedGame entry = parked.get(lobbyId);
+    return entry != null ? entry.seats : null;
+  }
+
+  /** Removes the lobby's parked game and rebuilds it; null if the lobby has none. */
+  public GameState unpark(String lobbyId) {
+    ParkedGame entry = take(lobbyId);
+    if (entry == null) return null;
+    try {
+      byte[] encoded = entry.inflatedLength >= 0 ? inflate(entry.data, entry.inflatedLength) : entry.data;
+      GameState game = GameStateCodec.decode(encoded);
+      game.setGameId(entry.gameId);
+      return game;
+    } catch (IOException | DataFormatException e) {
+      throw new IllegalStateException("Parked game of lobby " + lobbyId + " could not be restored", e);
+    }
+  }
+
+  /** Drops the lobby's parked game. @return false if it was not parked (e.g. already brought back) */
+  public boolean discard(String lobbyId) {
+    return take(lobbyId) != null;
+  }
+
+  public int size() {
+    return parked.size();
+  }
+
+  /** Total size of the parked games' data. */
+  public long bytes() {
+    return bytes.get();
+  }
+
+  private ParkedGame take(String lobbyId) {
+    ParkedGame entry = parked.remove(lobbyId);
+    if (entry != null) bytes.addAndGet(-entry.data.length);
+    return entry;
+  }
+
+  private static byte[] deflate(byte[] data) {
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true); // raw deflate, no zlib header
+    try {
+      deflater.setInput(data);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+      byte[] buffer = new byte[256];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] data, int length) throws DataFormatException {
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(data);
+      byte[] out = new byte[length];
+      int read = 0;
+      while (read < length && !inflater.finished()) {
+        int n = inflater.inflate(out, read, length - read);
+        if (n == 0 && inflater.needsInput()) break;
+        read += n;
+      }
+      if (read != length) throw new DataFormatException("Parked game is truncated");
+      return out;
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static final class ParkedGame {
+    private final String gameId;
+    private final List<String> seats; // kept decoded, so outbound frames can be encoded without unparking
+    private final byte[] data;
+    private final int inflatedLength; // -1 = stored as encoded
+
+    private ParkedGame(String gameId, List<String> seats, byte[] data, int inflatedLength) {
+      this.gameId = gameId;
+      this.seats = seats;
+      this.data = data;
+      this.inflatedLength = inflatedLength;
+    }
+  }
+}
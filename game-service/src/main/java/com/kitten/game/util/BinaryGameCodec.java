@@ -0,0 +1,248 @@
+package com.kitten.game.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.kitten.game.model.CardType;
+
+/**
+ * Compact binary form of the JSON game messages, for sessions that negotiated it.
+ * Cards are one byte (their ordinal) and players one byte (their index in GameState.seats); everything else keeps
+ * its JSON shape. Converted straight from/to JSON with the streaming parser, so any payload round-trips.
+ *
+ * <pre>
+ * value  := NULL | FALSE | TRUE | INT zigzag-varint | DOUBLE 8 bytes | STRING varint-len utf8
+ *         | CARD ordinal | SEAT index | ARRAY value* END | OBJECT (key value)* 0
+ * key    := varint 2*(len+1) utf8   first use of a name in the message
+ *         | varint 2*i+1            the i-th distinct name used so far
+ * </pre>
+ */
+public final class BinaryGameCodec {
+
+  public static final String CODEC_NAME = "kitten-binary-1";
+
+  private static final int NULL = 0;
+  private static final int FALSE = 1;
+  private static final int TRUE = 2;
+  private static final int INT = 3;
+  private static final int DOUBLE = 4;
+  private static final int STRING = 5;
+  private static final int CARD = 6;
+  private static final int SEAT = 7;
+  private static final int ARRAY = 8;
+  private static final int OBJECT = 9;
+  private static final int END = 10;
+
+  private static final JsonFactory JSON = new JsonFactory();
+  private static final CardType[] CARDS = CardType.values();
+  private static final Map<String, CardType> CARDS_BY_NAME = new HashMap<>();
+
+  static {
+    for (CardType card : CARDS) {
+      CARDS_BY_NAME.put(card.name(), card);
+    }
+  }
+
+  private BinaryGameCodec() {}
+
+  /** @param seats the game's seat order, used to shorten player ids; may be empty */
+  public static byte[] fromJson(byte[] json, List<String> seats) throws IOException {
+    Buffer out = new Buffer(Math.max(16, json.length / 2));
+    Map<String, Integer> keys = new HashMap<>();
+    try (JsonParser parser = JSON.createParser(json)) {
+      JsonToken token;
+      while ((token = parser.nextToken()) != null) {
+        switch (token) {
+          case START_OBJECT: out.write(OBJECT); break;
+          case END_OBJECT: out.write(0); break;
+          case START_ARRAY: out.write(ARRAY); break;
+          case END_ARRAY: out.write(END); break;
+          case FIELD_NAME: writeKey(out, parser.currentName(), keys); break;
+          case VALUE_NULL: out.write(NULL); break;
+          case VALUE_FALSE: out.write(FALSE); break;
+          case VALUE_TRUE: out.write(TRUE); break;
+          case VALUE_NUMBER_INT:
+            out.write(INT);
+            writeVarint(out, zigzag(parser.getLongValue()));
+            break;
+          case VALUE_NUMBER_FLOAT:
+            out.write(DOUBLE);
+            long bits = Double.doubleToLongBits(parser.getDoubleValue());
+            for (int shift = 56; shift >= 0; shift -= 8) out.write((int) (bits >>> shift));
+            break;
+          case VALUE_STRING: writeString(out, parser.getText(), seats); break;
+          default: throw new IOException("Unsupported JSON token " + token);
+        }
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /** Inverse of {@link #fromJson}, given the same seat order. */
+  public static byte[] toJson(byte[] binary, List<String> seats) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(binary.length * 3);
+    Reader in = new Reader(binary);
+    try (JsonGenerator generator = JSON.createGenerator(out)) {
+      while (in.pos < binary.length) {
+        readValue(in, in.next(), generator, seats);
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private static void readValue(Reader in, int tag, JsonGenerator generator, List<String> seats) throws IOException {
+    switch (tag) {
+      case NULL: generator.writeNull(); break;
+      case FALSE: generator.writeBoolean(false); break;
+      case TRUE: generator.writeBoolean(true); break;
+      case INT: generator.writeNumber(unzigzag(in.varint())); break;
+      case DOUBLE: {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) bits = (bits << 8) | in.next();
+        generator.writeNumber(Double.longBitsToDouble(bits));
+        break;
+      }
+      case STRING: generator.writeString(in.utf8((int) in.varint())); break;
+      case CARD: generator.writeString(CARDS[in.next()].name()); break;
+      case SEAT: generator.writeString(seats.get(in.next())); break;
+      case ARRAY: {
+        generator.writeStartArray();
+        int next;
+        while ((next = in.next()) != END) readValue(in, next, generator, seats);
+        generator.writeEndArray();
+        break;
+      }
+      case OBJECT: {
+        generator.writeStartObject();
+        long header;
+        while ((header = in.varint()) != 0) {
+          String name;
+          if ((header & 1) == 1) {
+            name = in.keys.get((int) (header >>> 1));
+          } else {
+            name = in.utf8((int) (header >>> 1) - 1);
+            in.keys.add(name);
+          }
+          generator.writeFieldName(name);
+          readValue(in, in.next(), generator, seats);
+        }
+        generator.writeEndObject();
+        break;
+      }
+      default: throw new IOException("Unknown tag " + tag + " at " + (in.pos - 1));
+    }
+  }
+
+  private static void writeKey(Buffer out, String name, Map<String, Integer> keys) {
+    Integer index = keys.get(name);
+    if (index != null) {
+      writeVarint(out, ((long) index << 1) | 1);
+      return;
+    }
+    keys.put(name, keys.size());
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    writeVarint(out, ((long) bytes.length + 1) << 1);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  private static void writeString(Buffer out, String value, List<String> seats) {
+    CardType card = CARDS_BY_NAME.get(value);
+    if (card != null) {
+      out.write(CARD);
+      out.write(card.ordinal());
+      return;
+    }
+    int seat = seats.indexOf(value);
+    if (seat >= 0) {
+      out.write(SEAT);
+      out.write(seat);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.write(STRING);
+    writeVarint(out, bytes.length);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  private static void writeVarint(Buffer out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /** Unsynchronized stand-in for ByteArrayOutputStream on the encode path. */
+  private static final class Buffer {
+    private byte[] bytes;
+    private int size;
+
+    private Buffer(int capacity) {
+      this.bytes = new byte[capacity];
+    }
+
+    private void write(int b) {
+      if (size == bytes.length) bytes = Arrays.copyOf(bytes, size * 2);
+      bytes[size++] = (byte) b;
+    }
+
+    private void write(byte[] src, int offset, int length) {
+      if (size + length > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(size * 2, size + length));
+      System.arraycopy(src, offset, bytes, size, length);
+      size += length;
+    }
+
+    private byte[] toByteArray() {
+      return Arrays.copyOf(bytes, size);
+    }
+  }
+
+  private static final class Reader {
+    private final byte[] bytes;
+    private final List<String> keys = new ArrayList<>();
+    private int pos;
+
+    private Reader(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    private int next() throws IOException {
+      if (pos >= bytes.length) throw new IOException("Truncated message");
+      return bytes[pos++] & 0xFF;
+    }
+
+    private long varint() throws IOException {
+      long value = 0;
+      for (int shift = 0; ; shift += 7) {
+        int b = next();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) return value;
+      }
+    }
+
+    private String utf8(int length) throws IOException {
+      if (length < 0 || pos + length > bytes.length) throw new IOException("Truncated message");
+      String value = new String(bytes, pos, length, StandardCharsets.UTF_8);
+      pos += length;
+      return value;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.kitten.game.util;
+
+import java.util.List;
+
+import com.kitten.game.model.CardType;
+import com.kitten.game.model.Hand;
+
+/**
+ * Evaluates cat card combos without allocating.
+ * A combo is 2 or 3 cat cards where every non-feral cat is the same type (feral cats are wildcards):
+ * 2 cards steal a random card, 3 cards steal a DEFUSE.
+ */
+public final class CatComboEvaluator {
+
+  public static final String STEAL_RANDOM = "steal_random";
+  public static final String STEAL_DEFUSE = "steal_defuse";
+
+  private CatComboEvaluator() {}
+
+  /** @return the combo type ({@link #STEAL_RANDOM} or {@link #STEAL_DEFUSE}), or null if the cards are not a valid combo */
+  public static String evaluate(List<CardType> cats) {
+    if (cats == null) return null;
+    int n = cats.size();
+    if (n < 2 || n > 3) return null;
+
+    CardType regular = null;
+    for (int i = 0; i < n; i++) {
+      CardType card = cats.get(i);
+      if (card == null || !card.isCat()) return null;
+      if (card.isFeral()) continue;
+      if (regular == null) {
+        regular = card;
+      } else if (regular != card) {
+        return null;
+      }
+    }
+    return n == 2 ? STEAL_RANDOM : STEAL_DEFUSE;
+  }
+
+  /** @return true if the hand holds at least as many copies of each card as the combo uses */
+  public static boolean isHeldBy(Hand hand, List<CardType> cats) {
+    int n = cats.size();
+    for (int i = 0; i < n; i++) {
+      CardType card = cats.get(i);
+      int needed = 0;
+      for (int j = 0; j < n; j++) {
+        if (cats.get(j) == card) needed++;
+      }
+      if (hand.count(card) < needed) return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,160 @@
+package com.kitten.game.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kitten.game.model.CardType;
+import com.kitten.game.model.Deck;
+import com.kitten.game.model.GameRandom;
+import com.kitten.game.model.GameState;
+import com.kitten.game.model.Hand;
+import com.kitten.game.model.PlayerState;
+
+/**
+ * Binary snapshot of a whole GameState, for game_snapshots. Cards are one byte (their ordinal) and players one
+ * byte (their index in GameState.seats); the generator is stored as (seed, draws). A mid-game snapshot is
+ * about 150 bytes. The gameId is not included, it is the snapshot row's key.
+ *
+ * <pre>
+ * FORMAT version lobbyId seed draws seats
+ * players(seat name? cards) eliminated(seat) deck used currentPlayerIndex cardsToDraw gameStarted
+ * favorFrom targetedAttackTarget pendingStealFrom (seat or -1) selectedCatCards catComboType?
+ * </pre>
+ */
+public final class GameStateCodec {
+
+  private static final int FORMAT = 1;
+  private static final CardType[] CARDS = CardType.values();
+
+  private GameStateCodec() {}
+
+  public static byte[] encode(GameState game) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      List<String> seats = game.getSeats();
+      out.writeByte(FORMAT);
+      out.writeLong(game.getVersion());
+      out.writeUTF(game.getLobbyId());
+      out.writeLong(game.getRandom().getSeed());
+      out.writeLong(game.getRandom().getDraws());
+      out.writeByte(seats.size());
+      for (String seat : seats) {
+        out.writeUTF(seat);
+      }
+
+      out.writeByte(game.getPlayers().size());
+      for (PlayerState player : game.getPlayers()) {
+        out.writeByte(seatOf(seats, player.getPlayerId()));
+        writeNullable(out, player.getPlayerName());
+        writeCards(out, player.getHand().toList());
+      }
+      out.writeByte(game.getEliminatedPlayers().size());
+      for (String playerId : game.getEliminatedPlayers()) {
+        out.writeByte(seatOf(seats, playerId));
+      }
+
+      writeCards(out, game.getDeck().toList());
+      writeCards(out, game.getUsedCards());
+      out.writeInt(game.getCurrentPlayerIndex());
+      out.writeInt(game.getCardsToDraw());
+      out.writeBoolean(game.isGameStarted());
+      out.writeByte(seatOrNone(seats, game.getFavorFromPlayerId()));
+      out.writeByte(seatOrNone(seats, game.getTargetedAttackTargetId()));
+      out.writeByte(seatOrNone(seats, game.getPendingStealFromPlayerId()));
+      writeCards(out, game.getSelectedCatCards());
+      writeNullable(out, game.getCatComboType());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // in-memory stream, never happens
+    }
+    return bytes.toByteArray();
+  }
+
+  /** Inverse of {@link #encode}; the returned game has no gameId. */
+  public static GameState decode(byte[] data) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+    int format = in.readUnsignedByte();
+    if (format != FORMAT) throw new IOException("Unknown snapshot format " + format);
+
+    GameState game = new GameState();
+    game.setVersion(in.readLong());
+    game.setLobbyId(in.readUTF());
+    long seed = in.readLong();
+    game.setRandom(GameRandom.restore(seed, in.readLong()));
+    int seatCount = in.readUnsignedByte();
+    List<String> seats = new ArrayList<>(seatCount);
+    for (int i = 0; i < seatCount; i++) {
+      seats.add(in.readUTF());
+    }
+    game.setSeats(seats);
+
+    int playerCount = in.readUnsignedByte();
+    List<PlayerState> players = new ArrayList<>(playerCount);
+    for (int i = 0; i < playerCount; i++) {
+      String playerId = seats.get(in.readUnsignedByte());
+      String playerName = readNullable(in);
+      players.add(new PlayerState(playerId, playerName, Hand.of(readCards(in))));
+    }
+    game.setPlayers(players);
+    int eliminatedCount = in.readUnsignedByte();
+    for (int i = 0; i < eliminatedCount; i++) {
+      game.getEliminatedPlayers().add(seats.get(in.readUnsignedByte()));
+    }
+
+    game.setDeck(Deck.of(readCards(in)));
+    game.setUsedCards(readCards(in));
+    game.setCurrentPlayerIndex(in.readInt());
+    game.setCardsToDraw(in.readInt());
+    game.setGameStarted(in.readBoolean());
+    game.setFavorFromPlayerId(seatOrNull(seats, in.readByte()));
+    game.setTargetedAttackTargetId(seatOrNull(seats, in.readByte()));
+    game.setPendingStealFromPlayerId(seatOrNull(seats, in.readByte()));
+    game.setSelectedCatCards(readCards(in));
+    game.setCatComboType(readNullable(in));
+    return game;
+  }
+
+  private static int seatOf(List<String> seats, String playerId) {
+    int seat = seats.indexOf(playerId);
+    if (seat < 0) throw new IllegalArgumentException("Player " + playerId + " has no seat");
+    return seat;
+  }
+
+  private static int seatOrNone(List<String> seats, String playerId) {
+    return playerId != null ? seatOf(seats, playerId) : -1;
+  }
+
+  private static String seatOrNull(List<String> seats, int seat) {
+    return seat >= 0 ? seats.get(seat) : null;
+  }
+
+  private static void writeCards(DataOutputStream out, List<CardType> cards) throws IOException {
+    out.writeShort(cards.size());
+    for (CardType card : cards) {
+      out.writeByte(card.ordinal());
+    }
+  }
+
+  private static List<CardType> readCards(DataInputStream in) throws IOException {
+    int size = in.readUnsignedShort();
+    List<CardType> cards = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      cards.add(CARDS[in.readUnsignedByte()]);
+    }
+    return cards;
+  }
+
+  private static void writeNullable(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) out.writeUTF(value);
+  }
+
+  private static String readNullable(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+}
@@ -0,0 +1,87 @@
+package com.kitten.game.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.kitten.game.model.GameState;
+
+/**
+ * Throughput of {@link GameRegistry} with thousands of active lobbies, one benchmark thread per core.
+ * {@code lookup} is the request path (every REST call and command resolves its game), {@code getOrCreateExisting}
+ * a duplicate start, and {@code restart} ends a game and starts a new one in the same lobby, so creation takes
+ * the lobby's stripe lock while other threads hit other lobbies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class GameRegistryBenchmark {
+
+  @Param({"1000", "10000"})
+  private int lobbies;
+
+  private GameRegistry registry;
+  private String[] lobbyIds;
+
+  private static final Function<String, GameState> NEW_GAME = lobbyId -> {
+    GameState game = new GameState();
+    game.setLobbyId(lobbyId);
+    return game;
+  };
+
+  @Setup
+  public void setUp() {
+    registry = new GameRegistry();
+    lobbyIds = new String[lobbies];
+    for (int i = 0; i < lobbies; i++) {
+      lobbyIds[i] = "LOBBY" + i;
+      registry.getOrCreate(lobbyIds[i], NEW_GAME);
+    }
+  }
+
+  private String randomLobby() {
+    return lobbyIds[ThreadLocalRandom.current().nextInt(lobbyIds.length)];
+  }
+
+  @Benchmark
+  public GameState lookup() {
+    return registry.get(randomLobby());
+  }
+
+  @Benchmark
+  public GameState getOrCreateExisting() {
+    return registry.getOrCreate(randomLobby(), NEW_GAME);
+  }
+
+  @Benchmark
+  public GameState restart() {
+    String lobbyId = randomLobby();
+    GameState old = registry.get(lobbyId);
+    if (old != null) registry.remove(lobbyId, old);
+    return registry.getOrCreate(lobbyId, NEW_GAME);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(GameRegistryBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,162 @@
+package com.kitten.game.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitten.game.entity.GameAction;
+import com.kitten.game.model.CardType;
+import com.kitten.game.model.GameState;
+import com.kitten.game.model.PlayerState;
+
+/**
+ * Whole-game replays per second through {@link GameReplayService.Replay}, many games rebuilt in parallel (one
+ * benchmark thread per core), as history requests and startup recovery do. The logs are recorded in memory at
+ * setup by playing random games to the end, so no database is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class GameReplayBenchmark {
+
+  private static final CardType[] SOLO_CARDS = {
+      CardType.SKIP, CardType.ATTACK, CardType.SHUFFLE, CardType.SEE_THE_FUTURE, CardType.DRAW_FROM_BOTTOM};
+
+  @Param({"1000"})
+  private int games;
+
+  private GameCommandService commands;
+  private GameReplayService replays;
+  private RecordedGame[] recorded;
+
+  @Setup
+  public void setUp() {
+    GameEventBatcher events = new GameEventBatcher(new SimpMessagingTemplate((message, timeout) -> true), false);
+    GameActionService actions = new GameActionService(null, null);
+    GameService gameService = new GameService(new GameRegistry(), null, actions, null, null, null, null);
+    ObjectMapper objectMapper = new ObjectMapper();
+    commands = new GameCommandService(gameService, actions, null, new GameStateBroadcaster(events), events, null, null,
+        objectMapper);
+    replays = new GameReplayService(null, null, null, gameService, commands, objectMapper, 1);
+
+    Random random = new Random(7);
+    recorded = new RecordedGame[games];
+    for (int i = 0; i < games; i++) {
+      recorded[i] = record("LOBBY" + i, 2 + random.nextInt(4), random);
+      long version = replay(recorded[i]).getVersion();
+      if (version != recorded[i].version) {
+        throw new IllegalStateException("Game " + i + " replays to version " + version + ", played to " + recorded[i].version);
+      }
+    }
+  }
+
+  @Benchmark
+  public GameState replayGame() {
+    return replay(recorded[ThreadLocalRandom.current().nextInt(recorded.length)]);
+  }
+
+  private GameState replay(RecordedGame game) {
+    GameReplayService.Replay replay = replays.start(game.lobbyId, game.playerIds, game.seed);
+    for (GameAction action : game.log) {
+      replay.apply(action);
+    }
+    return replay.getGame();
+  }
+
+  /** Plays one game to the end with random draws, solo cards and cat steals, keeping the accepted commands. */
+  private RecordedGame record(String lobbyId, int players, Random random) {
+    List<String> playerIds = new ArrayList<>();
+    for (int p = 0; p < players; p++) {
+      playerIds.add(lobbyId + "-p" + p);
+    }
+    RecordedGame recorded = new RecordedGame(lobbyId, playerIds, random.nextLong());
+    GameState game = replays.start(lobbyId, playerIds, recorded.seed).getGame();
+    while (game.getPlayers().size() > 1 && recorded.log.size() < 1000) {
+      PlayerState player = game.getPlayers().get(game.getCurrentPlayerIndex());
+      String playerId = player.getPlayerId();
+      CardType cat = pairedCat(player);
+      if (cat != null && random.nextInt(3) == 0) {
+        String target = game.getPlayers().get(game.nextPlayerIndex(game.getCurrentPlayerIndex())).getPlayerId();
+        if (play(game, recorded, action("CAT_COMBO", playerId, null,
+                "{\"cards\":[\"" + cat.name() + "\",\"" + cat.name() + "\"]}"))
+            && play(game, recorded, action("CAT_STEAL", playerId, target, null))) {
+          play(game, recorded, action("CAT_STEAL_RESOLVE", playerId, target, "{\"selectedIndex\":" + (1 + random.nextInt(2)) + "}"));
+        }
+        continue;
+      }
+      CardType solo = SOLO_CARDS[random.nextInt(SOLO_CARDS.length)];
+      if (random.nextInt(10) < 4 && player.getHand().count(solo) > 0) {
+        play(game, recorded, action("PLAY_" + solo.name(), playerId, null, null));
+      } else {
+        play(game, recorded, action("DRAW_CARD", playerId, null, null));
+      }
+    }
+    recorded.version = game.getVersion();
+    return recorded;
+  }
+
+  private static CardType pairedCat(PlayerState player) {
+    for (CardType card : CardType.values()) {
+      if (card.isCat() && player.getHand().count(card) >= 2) return card;
+    }
+    return null;
+  }
+
+  private boolean play(GameState game, RecordedGame recorded, GameAction action) {
+    action.setSeq(recorded.log.size() + 1);
+    if (!commands.replay(game, action).isOk()) return false;
+    recorded.log.add(action);
+    return true;
+  }
+
+  private static GameAction action(String type, String actor, String receiver, String payload) {
+    GameAction action = new GameAction(UUID.randomUUID(), null, 0, type);
+    action.setActorUserId(actor);
+    action.setReceiverUserId(receiver);
+    action.setPayload(payload);
+    return action;
+  }
+
+  private static final class RecordedGame {
+    private final String lobbyId;
+    private final List<String> playerIds;
+    private final long seed;
+    private final List<GameAction> log = new ArrayList<>();
+    private long version;
+
+    private RecordedGame(String lobbyId, List<String> playerIds, long seed) {
+      this.lobbyId = lobbyId;
+      this.playerIds = playerIds;
+      this.seed = seed;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(GameReplayBenchmark.class.getSimpleName()).build()).run();
+  }
+}
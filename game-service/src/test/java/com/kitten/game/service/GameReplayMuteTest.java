@@ -0,0 +1,61 @@
+package com.kitten.game.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitten.game.entity.GameAction;
+import com.kitten.game.model.GameState;
+
+/** Rebuilding a game from its log must not put any of its old events on the live topics. */
+class GameReplayMuteTest {
+
+  private static final List<String> PLAYERS = List.of("p1", "p2", "p3");
+
+  @Test
+  void replayPublishesNothingWithPerTopicEvents() {
+    assertReplayIsSilent(false);
+  }
+
+  @Test
+  void replayPublishesNothingWithCoalescedEvents() {
+    assertReplayIsSilent(true);
+  }
+
+  private void assertReplayIsSilent(boolean coalesce) {
+    List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    GameEventBatcher events = new GameEventBatcher(new SimpMessagingTemplate((message, timeout) -> sent.add(message)), coalesce);
+    // No gameId while rebuilding, so nothing below is logged or persisted and the collaborators can stay null
+    GameActionService actions = new GameActionService(null, null);
+    GameService gameService = new GameService(new GameRegistry(), null, actions, null, null, null, null);
+    ObjectMapper objectMapper = new ObjectMapper();
+    GameCommandService commands = new GameCommandService(gameService, actions, null, new GameStateBroadcaster(events),
+        events, null, null, objectMapper);
+    GameReplayService replays = new GameReplayService(null, null, null, gameService, commands, objectMapper, 1);
+
+    // Every player draws in turn until the game is over: hands, turns, defuses, eliminations and the finish
+    GameReplayService.Replay replay = replays.start("replay-lobby", PLAYERS, 42L);
+    GameState game = replay.getGame();
+    int seq = 0;
+    while (game.getPlayers().size() > 1 && seq < 500) {
+      GameAction draw = new GameAction(UUID.randomUUID(), null, ++seq, "DRAW_CARD");
+      draw.setActorUserId(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId());
+      replay.apply(draw);
+    }
+
+    assertEquals(1, game.getPlayers().size());
+    assertTrue(sent.isEmpty(), "replay published " + sent);
+
+    // The same batcher still publishes once the replay is done
+    events.publish("replay-lobby", "turn", "p1");
+    assertEquals(1, sent.size());
+  }
+}
@@ -0,0 +1,132 @@
+package com.kitten.game.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.kitten.game.model.CardType;
+import com.kitten.game.model.Hand;
+
+/**
+ * {@link CatComboEvaluator} against the stream-based check it replaced, over random hands: each attempt picks
+ * 2 or 3 cards out of a random 8-card hand (so most attempts are not valid combos, as in play), validates the
+ * combo and checks that the hand holds the cards. The legacy path keeps the hand as a List&lt;CardType&gt;, as it
+ * was then, and the new one as a {@link Hand} of per-type counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatComboBenchmark {
+
+  private static final int ATTEMPTS = 1024;
+  private static final int HAND_SIZE = 8;
+
+  private final List<List<CardType>> legacyHands = new ArrayList<>(ATTEMPTS);
+  private final List<Hand> hands = new ArrayList<>(ATTEMPTS);
+  private final List<List<CardType>> selections = new ArrayList<>(ATTEMPTS);
+
+  @Setup
+  public void setUp() {
+    // Weighted like the deck: cat cards are about half of it
+    CardType[] pool = {
+        CardType.CAT_TACO, CardType.CAT_WATERMELON, CardType.CAT_POTATO, CardType.CAT_BEARD, CardType.CAT_RAINBOW,
+        CardType.CAT_FERAL, CardType.CAT_TACO, CardType.CAT_POTATO, CardType.CAT_FERAL,
+        CardType.SKIP, CardType.ATTACK, CardType.FAVOR, CardType.NOPE, CardType.SHUFFLE, CardType.SEE_THE_FUTURE,
+        CardType.DEFUSE};
+    Random random = new Random(42);
+    for (int i = 0; i < ATTEMPTS; i++) {
+      List<CardType> hand = new ArrayList<>(HAND_SIZE);
+      for (int j = 0; j < HAND_SIZE; j++) {
+        hand.add(pool[random.nextInt(pool.length)]);
+      }
+      List<CardType> remaining = new ArrayList<>(hand);
+      List<CardType> selection = new ArrayList<>(3);
+      for (int j = 2 + random.nextInt(2); j > 0; j--) {
+        selection.add(remaining.remove(random.nextInt(remaining.size())));
+      }
+      legacyHands.add(hand);
+      hands.add(Hand.of(hand));
+      selections.add(selection);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ATTEMPTS)
+  public void legacy(Blackhole bh) {
+    for (int i = 0; i < ATTEMPTS; i++) {
+      List<CardType> cats = selections.get(i);
+      String combo = legacyEvaluate(cats);
+      bh.consume(combo);
+      if (combo != null) bh.consume(legacyIsHeld(legacyHands.get(i), cats));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ATTEMPTS)
+  public void evaluator(Blackhole bh) {
+    for (int i = 0; i < ATTEMPTS; i++) {
+      List<CardType> cats = selections.get(i);
+      String combo = CatComboEvaluator.evaluate(cats);
+      bh.consume(combo);
+      if (combo != null) bh.consume(CatComboEvaluator.isHeldBy(hands.get(i), cats));
+    }
+  }
+
+  /** The combo check as it was before CatComboEvaluator, kept verbatim in behaviour. */
+  private static String legacyEvaluate(List<CardType> cats) {
+    if (cats == null || cats.size() < 2 || cats.size() > 3) return null;
+    long feralCount = cats.stream().filter(c -> c == CardType.CAT_FERAL).count();
+    long regularCatCount = cats.stream().filter(c -> c != CardType.CAT_FERAL && c.name().startsWith("CAT_")).count();
+    if (cats.size() == 2) {
+      CardType firstCat = cats.get(0);
+      if (firstCat == cats.get(1) && firstCat.name().startsWith("CAT_")) return "steal_random";
+    }
+    if (cats.size() == 2 && feralCount == 1 && regularCatCount == 1) return "steal_random";
+    if (cats.size() == 3) {
+      CardType firstCat = cats.get(0);
+      if (firstCat == cats.get(1) && firstCat == cats.get(2) && firstCat.name().startsWith("CAT_")) return "steal_defuse";
+    }
+    if (cats.size() == 3 && feralCount == 2 && regularCatCount == 1) return "steal_defuse";
+    if (cats.size() == 3 && feralCount == 1 && regularCatCount == 2) {
+      List<CardType> regularCats = cats.stream()
+          .filter(c -> c != CardType.CAT_FERAL && c.name().startsWith("CAT_"))
+          .collect(Collectors.toList());
+      if (regularCats.get(0) == regularCats.get(1)) return "steal_defuse";
+    }
+    return null;
+  }
+
+  /** The old hold check: remove each card from a copy of the hand list. */
+  private static boolean legacyIsHeld(List<CardType> hand, List<CardType> cats) {
+    List<CardType> copy = new ArrayList<>(hand);
+    for (CardType cat : cats) {
+      if (!copy.remove(cat)) return false;
+    }
+    return true;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(CatComboBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,100 @@
+package com.kitten.lobby.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Subscription registry for the simple broker that only matches destinations exactly.
+ * Subscribers are indexed by destination in a hash map, so routing a message is one lookup no matter how many
+ * lobbies are subscribed. Each destination keeps an immutable sessionId -> subscriptionIds map that is rebuilt on
+ * (un)subscribe, which is rare next to sends. Wildcard subscriptions and selector headers are not supported.
+ * Kept identical to the copy in game-service; the two services share no module.
+ */
+public class ExactMatchSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+  private static final MultiValueMap<String, String> NONE =
+      CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<String, String>());
+
+  private final Map<String, MultiValueMap<String, String>> byDestination = new ConcurrentHashMap<>();
+  // sessionId -> (subscriptionId -> destination), for unsubscribe and disconnect
+  private final Map<String, Map<String, String>> bySession = new ConcurrentHashMap<>();
+
+  @Override
+  protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination, Message<?> message) {
+    Map<String, String> subscriptions = bySession.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
+    synchronized (subscriptions) {
+      subscriptions.put(subscriptionId, destination);
+      byDestination.compute(destination, (d, current) -> with(current, sessionId, subscriptionId));
+    }
+  }
+
+  @Override
+  protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+    Map<String, String> subscriptions = bySession.get(sessionId);
+    if (subscriptions == null) return;
+    synchronized (subscriptions) {
+      String destination = subscriptions.remove(subscriptionId);
+      if (destination != null) {
+        byDestination.computeIfPresent(destination, (d, current) -> without(current, sessionId, subscriptionId));
+      }
+    }
+  }
+
+  @Override
+  public void unregisterAllSubscriptions(String sessionId) {
+    Map<String, String> subscriptions = bySession.remove(sessionId);
+    if (subscriptions == null) return;
+    synchronized (subscriptions) {
+      for (Map.Entry<String, String> entry : subscriptions.entrySet()) {
+        byDestination.computeIfPresent(entry.getValue(), (d, current) -> without(current, sessionId, entry.getKey()));
+      }
+    }
+  }
+
+  @Override
+  protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+    MultiValueMap<String, String> subscribers = byDestination.get(destination);
+    return subscribers != null ? subscribers : NONE;
+  }
+
+  public int getDestinationCount() {
+    return byDestination.size();
+  }
+
+  private static MultiValueMap<String, String> with(MultiValueMap<String, String> current, String sessionId,
+                                                    String subscriptionId) {
+    LinkedMultiValueMap<String, String> copy = copyOf(current);
+    copy.add(sessionId, subscriptionId);
+    return CollectionUtils.unmodifiableMultiValueMap(copy);
+  }
+
+  /** @return the map without the subscription, or null (removing the destination) if nothing is left */
+  private static MultiValueMap<String, String> without(MultiValueMap<String, String> current, String sessionId,
+                                                       String subscriptionId) {
+    LinkedMultiValueMap<String, String> copy = copyOf(current);
+    List<String> ids = copy.get(sessionId);
+    if (ids != null) {
+      ids.remove(subscriptionId);
+      if (ids.isEmpty()) copy.remove(sessionId);
+    }
+    return copy.isEmpty() ? null : CollectionUtils.unmodifiableMultiValueMap(copy);
+  }
+
+  private static LinkedMultiValueMap<String, String> copyOf(MultiValueMap<String, String> current) {
+    LinkedMultiValueMap<String, String> copy = new LinkedMultiValueMap<>();
+    if (current != null) {
+      for (Map.Entry<String, List<String>> entry : current.entrySet()) {
+        copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+      }
+    }
+    return copy;
+  }
+}
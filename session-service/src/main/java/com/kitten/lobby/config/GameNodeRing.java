@@ -0,0 +1,92 @@
+package com.kitten.lobby.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consistent-hash ring that assigns each lobby's game to one game-service node.
+ * {@code game.ring.nodes} lists the nodes' base URLs (comma-separated, the same list in the same form on every
+ * game-service and session-service instance); each node gets {@code game.ring.virtual-nodes} points on the ring,
+ * and a lobby belongs to the first point at or after the hash of its id. Adding or removing a node only moves
+ * the lobbies on its own arcs. An empty list means a single game-service and no routing.
+ * Session-service uses it to send each game start to the node that will own the game.
+ */
+@Component
+public class GameNodeRing {
+
+  private final String[] nodes; // distinct, in configuration order
+  private final long[] points; // sorted hashes of the virtual nodes
+  private final String[] owners; // owners[i] is the node at points[i]
+
+  public GameNodeRing(@Value("${game.ring.nodes:}") String nodes,
+                      @Value("${game.ring.virtual-nodes:160}") int virtualNodes) {
+    Set<String> distinct = new LinkedHashSet<>();
+    for (String node : nodes.split(",")) {
+      String url = normalize(node);
+      if (!url.isEmpty()) distinct.add(url);
+    }
+    this.nodes = distinct.toArray(new String[0]);
+
+    int perNode = Math.max(1, virtualNodes);
+    TreeMap<Long, String> ring = new TreeMap<>();
+    for (String node : this.nodes) {
+      for (int i = 0; i < perNode; i++) {
+        ring.put(hash(node + "#" + i), node); // a collision just hands the point to the later node, on every JVM alike
+      }
+    }
+    this.points = new long[ring.size()];
+    this.owners = new String[ring.size()];
+    int i = 0;
+    for (Map.Entry<Long, String> point : ring.entrySet()) {
+      points[i] = point.getKey();
+      owners[i++] = point.getValue();
+    }
+  }
+
+  /** @return false if no ring is configured, i.e. a single game-service */
+  public boolean isEnabled() {
+    return nodes.length > 0;
+  }
+
+  public List<String> getNodes() {
+    return Arrays.asList(nodes);
+  }
+
+  /** Base URL of the node that owns the lobby's game; null if no ring is configured. */
+  public String ownerOf(String lobbyId) {
+    if (points.length == 0) return null;
+    long h = hash(lobbyId);
+    int i = Arrays.binarySearch(points, h);
+    if (i < 0) i = -i - 1; // first point after the hash
+    return owners[i == points.length ? 0 : i];
+  }
+
+  private static String normalize(String url) {
+    String trimmed = url.trim();
+    while (trimmed.endsWith("/")) trimmed = trimmed.substring(0, trimmed.length() - 1);
+    return trimmed;
+  }
+
+  /** 64-bit FNV-1a of the UTF-8 bytes, finished with MurmurHash3's fmix64; must give the same value on every node. */
+  private static long hash(String key) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b & 0xFF;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb93fe51afe63L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -1,22 +1,77 @@
 package com.kitten.lobby.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.*;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+  // 0 = one shard per available processor
+  @Value("${websocket.broker.shards:0}")
+  private int brokerShards;
+
+  @Autowired
+  private WebSocketProperties properties;
+
+  private TaskScheduler messageBrokerTaskScheduler;
+
+  // Lazy: the scheduler is defined by the broker configuration this class is feeding
+  @Autowired
+  public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler taskScheduler) {
+    this.messageBrokerTaskScheduler = taskScheduler;
+  }
+
   @Override
   public void registerStompEndpoints(StompEndpointRegistry registry) {
     registry.addEndpoint("/ws/lobby").setAllowedOriginPatterns("*").withSockJS();
+    // Same destinations without SockJS framing or fallbacks, for clients with native WebSocket
+    registry.addEndpoint(properties.getRawEndpoint()).setAllowedOriginPatterns("*");
   }
 
   @Override
   public void configureMessageBroker(MessageBrokerRegistry config) {
-    config.enableSimpleBroker("/topic");
+    config.enableSimpleBroker("/topic")
+        .setHeartbeatValue(new long[] {properties.getHeartbeatServerMs(), properties.getHeartbeatClientMs()})
+        .setTaskScheduler(messageBrokerTaskScheduler);
     config.setApplicationDestinationPrefixes("/app");
+    config.configureBrokerChannel().executor(brokerShardExecutor());
+    // The outbound channel runs on a shared pool; without this two frames for one session can be written out of
+    // order, e.g. "gameStarted" ahead of the last lobby update
+    config.setPreservePublishOrder(true);
+  }
+
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    registration.setSendTimeLimit(properties.getSendTimeLimitMs())
+        .setSendBufferSizeLimit(properties.getSendBufferSizeLimit())
+        .setMessageSizeLimit(properties.getMessageSizeLimit());
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  public LobbyShardedExecutor brokerShardExecutor() {
+    return new LobbyShardedExecutor(brokerShards > 0 ? brokerShards : Runtime.getRuntime().availableProcessors());
+  }
+
+  /** Swaps the simple broker's pattern-matching registry for {@link ExactMatchSubscriptionRegistry}. */
+  @Bean
+  public static BeanPostProcessor exactMatchSubscriptionRegistryInstaller() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof SimpleBrokerMessageHandler) {
+          ((SimpleBrokerMessageHandler) bean).setSubscriptionRegistry(new ExactMatchSubscriptionRegistry());
+        }
+        return bean;
+      }
+    };
   }
-  
 }
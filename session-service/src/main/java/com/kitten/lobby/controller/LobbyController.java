@@ -4,12 +4,15 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -31,6 +34,9 @@ public class LobbyController {
   @Autowired
   private PlayerService playerService;
 
+  @Autowired
+  private SimpMessagingTemplate messagingTemplate;
+
   @GetMapping("/{lobbyId}")
   public LobbyResponse getLobby(@PathVariable("lobbyId") String lobbyId) {
     Lobby lobby = lobbyService.getLobbyById(lobbyId);
@@ -38,8 +44,7 @@ public class LobbyController {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Lobby not found");
     }
 
-    List<String> safeCopy = List.copyOf(lobby.getPlayerIds());
-    List<PlayerResponse> playerList = safeCopy.stream()
+    List<PlayerResponse> playerList = lobby.getPlayerIds().stream()
       .map(playerId -> playerService.getPlayerById(playerId))
       .filter(p -> p != null)
       .toList();
@@ -72,22 +77,43 @@ public class LobbyController {
       throw new RuntimeException("Invalid player ID");
     }
 
-    if (!lobbyService.lobbyExists(lobbyId)) {
+    // One atomic step, so concurrent joins can neither overfill the lobby nor add a player twice
+    Lobby.JoinOutcome outcome = lobbyService.joinLobby(lobbyId, playerId);
+    Lobby.JoinResult result = outcome.getResult();
+    if (result == Lobby.JoinResult.LOBBY_NOT_FOUND) {
       throw new RuntimeException("Lobby not found");
     }
-
-    if (lobbyService.isLobbyFull(lobbyId)) {
+    if (result == Lobby.JoinResult.FULL) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Lobby is full");
     }
-
-    lobbyService.addPlayerToLobby(lobbyId, playerId);
-    Lobby updated = lobbyService.getLobbyById(lobbyId);
-
-    List<PlayerResponse> playerList = updated.getPlayerIds().stream()
+    if (result == Lobby.JoinResult.ALREADY_JOINED) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "Player already in lobby");
+    }
+    // The players as this join left them; the lobby may already have changed or been closed
+    List<PlayerResponse> playerList = outcome.getPlayerIds().stream()
       .map(playerService::getPlayerById)
       .filter(p -> p != null)
       .toList();
 
-    return new LobbyResponse(updated.getLobbyId(), playerList);
+    return new LobbyResponse(outcome.getLobbyId(), playerList);
+  }
+
+  /**
+   * Closes the lobby if {@code playerId} is its host (403 otherwise) and tells its subscribers with "lobbyClosed" on
+   * /topic/lobby/{lobbyId}; its code is kept out of new lobbies for a while.
+   */
+  @DeleteMapping("/{lobbyId}")
+  public void closeLobby(@PathVariable("lobbyId") String lobbyId, @RequestParam("playerId") String playerId) {
+    Lobby lobby = lobbyService.getLobbyById(lobbyId);
+    Lobby.CloseResult result = lobby != null
+        ? lobbyService.closeLobby(lobby.getLobbyId(), playerId)
+        : Lobby.CloseResult.LOBBY_NOT_FOUND;
+    if (result == Lobby.CloseResult.LOBBY_NOT_FOUND) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Lobby not found");
+    }
+    if (result == Lobby.CloseResult.NOT_HOST) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the host can close the lobby");
+    }
+    messagingTemplate.convertAndSend("/topic/lobby/" + lobby.getLobbyId(), "lobbyClosed");
   }
 }
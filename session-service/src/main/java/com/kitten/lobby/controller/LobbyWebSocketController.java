@@ -8,13 +8,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
+import com.kitten.lobby.config.GameNodeRing;
 import com.kitten.lobby.model.Lobby;
 import com.kitten.lobby.service.LobbyService;
 import com.kitten.player.dto.PlayerResponse;
@@ -36,6 +39,9 @@ public class LobbyWebSocketController {
   @Autowired
   private RestTemplate restTemplate;
 
+  @Autowired
+  private GameNodeRing gameNodeRing;
+
   @Value("${game.service.url:http://localhost:8082}")
   private String gameServiceUrl;
 
@@ -56,7 +62,7 @@ public class LobbyWebSocketController {
     gameStartRequest.setPlayerIds(lobby.getPlayerIds());
     gameStartRequest.setPlayerNames(playerNames);
 
-    String url = gameServiceUrl + "/api/game/start?lobbyId=" + lobbyId;
+    String url = gameNodeFor(lobbyId) + "/api/game/start?lobbyId=" + lobbyId;
     HttpHeaders headers = new HttpHeaders();
     headers.setContentType(MediaType.APPLICATION_JSON);
     HttpEntity<GameStartRequest> request = new HttpEntity<>(gameStartRequest, headers);
@@ -65,6 +71,18 @@ public class LobbyWebSocketController {
     messagingTemplate.convertAndSend("/topic/lobby/" + lobbyId, "gameStarted");
   }
 
+  /** Base URL of the game-service that runs the lobby's game, for the client's game REST calls and WebSocket. */
+  @GetMapping("/{lobbyId}/game-node")
+  public ResponseEntity<String> getGameNode(@PathVariable("lobbyId") String lobbyId) {
+    return ResponseEntity.ok(gameNodeFor(lobbyId));
+  }
+
+  /** The owner on the game.ring.nodes ring, or game.service.url when there is a single game-service. */
+  private String gameNodeFor(String lobbyId) {
+    String owner = gameNodeRing.ownerOf(lobbyId);
+    return owner != null ? owner : gameServiceUrl;
+  }
+
   public static class GameStartRequest {
     private List<String> playerIds;
     private List<String> playerNames;
@@ -1,24 +1,88 @@
 package com.kitten.lobby.model;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * A lobby and its players. The player list is an immutable snapshot swapped with compare-and-set, so joins never
+ * lock, a full lobby or a repeated player is rejected atomically, and readers always see a consistent list.
+ */
 public class Lobby {
-  private String lobbyId;
-  private List<String> playerIds;
+  public static final int MAX_PLAYERS = 4;
 
-  public Lobby(String hostPlayerId) {
-    this.lobbyId = UUID.randomUUID().toString().substring(0, 6);
-    this.playerIds = new ArrayList<>();
-    this.playerIds.add(hostPlayerId);
+  private final String lobbyId;
+  private final String hostPlayerId;
+  private final AtomicReference<List<String>> playerIds;
+
+  public Lobby(String lobbyId, String hostPlayerId) {
+    this.lobbyId = lobbyId;
+    this.hostPlayerId = hostPlayerId;
+    this.playerIds = new AtomicReference<>(List.of(hostPlayerId));
   }
 
   public String getLobbyId() {
     return lobbyId;
   }
 
+  /** The player who created the lobby, the only one allowed to close it. */
+  public String getHostPlayerId() {
+    return hostPlayerId;
+  }
+
+  /** Immutable snapshot of the players, host first, in join order. */
   public List<String> getPlayerIds() {
-    return playerIds;
+    return playerIds.get();
+  }
+
+  /** Adds the player unless the lobby is full or already has them. */
+  public JoinOutcome join(String playerId) {
+    while (true) {
+      List<String> current = playerIds.get();
+      if (current.contains(playerId)) return new JoinOutcome(JoinResult.ALREADY_JOINED, lobbyId, current);
+      if (current.size() >= MAX_PLAYERS) return new JoinOutcome(JoinResult.FULL, lobbyId, current);
+      String[] next = current.toArray(new String[current.size() + 1]);
+      next[current.size()] = playerId;
+      List<String> joined = List.of(next);
+      if (playerIds.compareAndSet(current, joined)) return new JoinOutcome(JoinResult.JOINED, lobbyId, joined);
+    }
+  }
+
+  public enum JoinResult {
+    JOINED,
+    FULL,
+    ALREADY_JOINED,
+    LOBBY_NOT_FOUND
+  }
+
+  public enum CloseResult {
+    CLOSED,
+    NOT_HOST,
+    LOBBY_NOT_FOUND
+  }
+
+  /** What a join did, with the players as the join left them; still valid if the lobby is closed right after. */
+  public static final class JoinOutcome {
+    private final JoinResult result;
+    private final String lobbyId;
+    private final List<String> playerIds;
+
+    public JoinOutcome(JoinResult result, String lobbyId, List<String> playerIds) {
+      this.result = result;
+      this.lobbyId = lobbyId;
+      this.playerIds = playerIds;
+    }
+
+    public JoinResult getResult() {
+      return result;
+    }
+
+    public String getLobbyId() {
+      return lobbyId;
+    }
+
+    /** Immutable; empty if the lobby was not found. */
+    public List<String> getPlayerIds() {
+      return playerIds;
+    }
   }
 }
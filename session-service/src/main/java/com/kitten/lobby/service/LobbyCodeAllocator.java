@@ -0,0 +1,69 @@
+package com.kitten.lobby.service;
+
+import java.security.SecureRandom;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Draws lobby codes: six characters from an alphabet without the look-alikes 0/O, 1/I/L and U, i.e. 30^6 (729M)
+ * codes, picked uniformly with {@link SecureRandom}. Codes cannot be guessed from earlier ones and do not repeat
+ * from one boot to the next, so a fresh lobby is unlikely to take the code of a game still running (or recovered)
+ * on game-service. Uniqueness among live lobbies is up to the caller: {@link LobbyService} inserts with
+ * putIfAbsent and draws again on a clash.
+ * The last {@code lobby.codes.reuse-after} codes of closed lobbies are never drawn again, so a stale link does not
+ * land in somebody else's new lobby. Allocation and release take no lock.
+ */
+@Component
+public class LobbyCodeAllocator {
+
+  public static final int LENGTH = 6;
+
+  private static final char[] ALPHABET = "23456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+  private static final long SPACE = 729_000_000L; // ALPHABET.length ^ LENGTH
+
+  private final SecureRandom random = new SecureRandom();
+  private final int reuseAfter;
+  private final Set<String> recentlyReleased = ConcurrentHashMap.newKeySet();
+  private final Queue<String> released = new ConcurrentLinkedQueue<>(); // oldest first
+  private final AtomicInteger releasedCount = new AtomicInteger(); // ConcurrentLinkedQueue.size() is O(n)
+
+  public LobbyCodeAllocator(@Value("${lobby.codes.reuse-after:100000}") int reuseAfter) {
+    this.reuseAfter = Math.max(0, reuseAfter);
+  }
+
+  /** A random code that was not closed recently; it may still belong to a live lobby. */
+  public String allocate() {
+    while (true) {
+      String code = encode(random.nextLong(SPACE));
+      if (!recentlyReleased.contains(code)) return code;
+    }
+  }
+
+  /** Records the code of a lobby that was closed. Call once per code, after the lobby is gone from the store. */
+  public void release(String code) {
+    if (reuseAfter == 0 || !recentlyReleased.add(code)) return;
+    released.add(code);
+    if (releasedCount.incrementAndGet() > reuseAfter) {
+      String oldest = released.poll();
+      if (oldest != null) {
+        releasedCount.decrementAndGet();
+        recentlyReleased.remove(oldest);
+      }
+    }
+  }
+
+  private static String encode(long n) {
+    char[] code = new char[LENGTH];
+    for (int i = LENGTH - 1; i >= 0; i--) {
+      code[i] = ALPHABET[(int) (n % ALPHABET.length)];
+      n /= ALPHABET.length;
+    }
+    return new String(code);
+  }
+}
@@ -1,39 +1,72 @@
 package com.kitten.lobby.service;
 
-import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Service;
 
 import com.kitten.lobby.model.Lobby;
 
+/**
+ * Live lobbies by id. Safe for concurrent use: lookups are lock-free, and {@link #joinLobby} checks capacity and
+ * membership and adds the player as one atomic step on the lobby itself, so joins to different lobbies never
+ * contend. Lobby ids are random codes from {@link LobbyCodeAllocator}, inserted with putIfAbsent so a new lobby
+ * never replaces a live one; they are upper case, and ids passed in are upper-cased first so a code typed in lower case still finds its lobby.
+ */
 @Service
 public class LobbyService {
-  private final Map<String, Lobby> lobbyStore = new HashMap<>();
+  private final Map<String, Lobby> lobbyStore = new ConcurrentHashMap<>();
+  private final LobbyCodeAllocator codeAllocator;
+
+  public LobbyService(LobbyCodeAllocator codeAllocator) {
+    this.codeAllocator = codeAllocator;
+  }
 
   public Lobby createLobby(String playerId) {
-    Lobby lobby = new Lobby(playerId);
-    lobbyStore.put(lobby.getLobbyId(), lobby);
-    return lobby;
+    while (true) {
+      Lobby lobby = new Lobby(codeAllocator.allocate(), playerId);
+      if (lobbyStore.putIfAbsent(lobby.getLobbyId(), lobby) == null) return lobby;
+      // The code belongs to a live lobby; draw another
+    }
+  }
+
+  /** Removes the lobby and frees its code, if {@code playerId} is its host. */
+  public Lobby.CloseResult closeLobby(String lobbyId, String playerId) {
+    Lobby lobby = find(lobbyId);
+    if (lobby == null) return Lobby.CloseResult.LOBBY_NOT_FOUND;
+    if (!lobby.getHostPlayerId().equals(playerId)) return Lobby.CloseResult.NOT_HOST;
+    if (!lobbyStore.remove(lobby.getLobbyId(), lobby)) return Lobby.CloseResult.LOBBY_NOT_FOUND;
+    codeAllocator.release(lobby.getLobbyId()); // only the caller that removed it gets here, so released once
+    return Lobby.CloseResult.CLOSED;
   }
 
   public Lobby getLobbyById(String lobbyId) {
-    return lobbyStore.get(lobbyId);
+    return find(lobbyId);
   }
 
   public boolean lobbyExists(String lobbyId) {
-    return lobbyStore.containsKey(lobbyId);
+    return find(lobbyId) != null;
   }
 
-  public void addPlayerToLobby(String lobbyId, String playerId) {
-    Lobby lobby = lobbyStore.get(lobbyId);
-    if (lobby != null) {
-      lobby.getPlayerIds().add(playerId);
-    }
+  /** @return the join's result with the players it left in the lobby, so callers need no second lookup */
+  public Lobby.JoinOutcome joinLobby(String lobbyId, String playerId) {
+    Lobby lobby = find(lobbyId);
+    return lobby != null ? lobby.join(playerId) : new Lobby.JoinOutcome(Lobby.JoinResult.LOBBY_NOT_FOUND, lobbyId, List.of());
   }
 
   public boolean isLobbyFull(String lobbyId) {
-    Lobby lobby = lobbyStore.get(lobbyId);
-    return lobby != null && lobby.getPlayerIds().size() >= 4;
+    Lobby lobby = find(lobbyId);
+    return lobby != null && lobby.getPlayerIds().size() >= Lobby.MAX_PLAYERS;
+  }
+
+  /** Null finds no lobby (ConcurrentHashMap would throw on it). */
+  private Lobby find(String lobbyId) {
+    return lobbyId != null ? lobbyStore.get(normalize(lobbyId)) : null;
+  }
+
+  private static String normalize(String lobbyId) {
+    return lobbyId.toUpperCase(Locale.ROOT);
   }
 }
@@ -0,0 +1,96 @@
+package com.kitten.lobby.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.kitten.lobby.model.Lobby;
+
+/** Hammers joins from many threads; a lobby must never go over MAX_PLAYERS or hold a player twice. */
+class LobbyServiceConcurrencyTest {
+
+  private static final int THREADS = 8;
+  private static final int JOINS_PER_THREAD = 20_000;
+
+  @Test
+  void concurrentJoinsNeverOverfillOrDuplicate() throws Exception {
+    LobbyService service = new LobbyService(new LobbyCodeAllocator(100_000));
+    List<String> lobbyIds = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      lobbyIds.add(service.createLobby("host" + i).getLobbyId());
+    }
+    String hot = lobbyIds.get(0);
+    AtomicInteger joined = new AtomicInteger();
+
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch go = new CountDownLatch(1);
+    List<Future<?>> workers = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      workers.add(pool.submit(() -> {
+        go.await();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < JOINS_PER_THREAD; i++) {
+          // Every 16th join goes to one hot lobby; a small player pool makes repeated joins common
+          String lobbyId = (i & 15) == 0 ? hot : lobbyIds.get(random.nextInt(lobbyIds.size()));
+          Lobby.JoinOutcome outcome = service.joinLobby(lobbyId, "p" + random.nextInt(50));
+          assertTrue(outcome.getPlayerIds().size() <= Lobby.MAX_PLAYERS);
+          if (outcome.getResult() == Lobby.JoinResult.JOINED) joined.incrementAndGet();
+        }
+        return null;
+      }));
+    }
+    go.countDown();
+    for (Future<?> worker : workers) {
+      worker.get(60, TimeUnit.SECONDS);
+    }
+    pool.shutdown();
+
+    int members = 0;
+    for (String lobbyId : lobbyIds) {
+      List<String> players = service.getLobbyById(lobbyId).getPlayerIds();
+      assertTrue(players.size() <= Lobby.MAX_PLAYERS, "lobby " + lobbyId + " overfull: " + players);
+      assertEquals(players.size(), new HashSet<>(players).size(), "lobby " + lobbyId + " has a player twice: " + players);
+      members += players.size() - 1; // minus the host
+    }
+    assertEquals(joined.get(), members, "every successful join, and only those, left a player in a lobby");
+    assertEquals(Lobby.MAX_PLAYERS, service.getLobbyById(hot).getPlayerIds().size());
+  }
+
+  @Test
+  void joinOutcomeSurvivesCloseOfTheLobby() {
+    LobbyService service = new LobbyService(new LobbyCodeAllocator(100_000));
+    String lobbyId = service.createLobby("host").getLobbyId();
+
+    Lobby.JoinOutcome outcome = service.joinLobby(lobbyId, "guest");
+    service.closeLobby(lobbyId, "host");
+
+    assertEquals(Lobby.JoinResult.JOINED, outcome.getResult());
+    assertEquals(List.of("host", "guest"), outcome.getPlayerIds());
+    assertEquals(Lobby.JoinResult.LOBBY_NOT_FOUND, service.joinLobby(lobbyId, "late").getResult());
+  }
+
+  @Test
+  void onlyTheHostClosesTheLobby() {
+    LobbyService service = new LobbyService(new LobbyCodeAllocator(100_000));
+    String lobbyId = service.createLobby("host").getLobbyId();
+    service.joinLobby(lobbyId, "guest");
+
+    assertEquals(Lobby.CloseResult.NOT_HOST, service.closeLobby(lobbyId, "guest"));
+    assertEquals(Lobby.CloseResult.NOT_HOST, service.closeLobby(lobbyId, null));
+    assertTrue(service.lobbyExists(lobbyId));
+    assertEquals(Lobby.CloseResult.CLOSED, service.closeLobby(lobbyId.toLowerCase(), "host"));
+    assertEquals(Lobby.CloseResult.LOBBY_NOT_FOUND, service.closeLobby(lobbyId, "host"));
+  }
+}